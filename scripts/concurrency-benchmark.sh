@@ -0,0 +1,101 @@
+#!/usr/bin/env bash
+#
+# Compares throughput and tail latency of the platform and virtual thread execution
+# modes under many concurrent work order uploads from many organizations.
+#
+# Every upload has distinct content, so none is answered from the result cache, and the
+# per-organization job quota is raised so uploads are not throttled.
+#
+# Build first:   ./mvnw package -DskipTests
+# Run:           JAVA_HOME=<jdk 21+> scripts/concurrency-benchmark.sh [uploads] [concurrency]
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+UPLOADS="${1:-400}"
+CONCURRENCY="${2:-$UPLOADS}"
+ORGS="${ORGS:-100}"
+ROWS="${ROWS:-200}"
+PORT="${PORT:-18080}"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+JAR="target/TaskScheduler-0.0.1-SNAPSHOT.jar"
+
+if [[ ! -f "$JAR" ]]; then
+    echo "Build with ./mvnw package -DskipTests first" >&2
+    exit 1
+fi
+if (( $("$JAVA" -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}') < 21 )); then
+    echo "Virtual threads need JDK 21 or later; point JAVA_HOME at one" >&2
+    exit 1
+fi
+
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+# One catalog per organization; station names differ from their operations, as in real catalogs
+for ((o = 0; o < ORGS; o++)); do
+    echo "{\"org\": \"org$o\", \"stations\": [{\"name\": \"CuttingStation\", \"operation\": \"Cutting\", \"capacity\": 2}, {\"name\": \"Oven\", \"operation\": \"Cure\", \"capacity\": 3}], \"workOrderTypes\": [{\"name\": \"type1\", \"operations\": [{\"operation\": \"Cutting\", \"durationHours\": 2}, {\"operation\": \"Cure\", \"durationHours\": 4}]}]}"
+done > "$WORK/catalogs.ndjson"
+
+# Writes upload files <round>-<n>.csv with ids unique to the round and upload
+generate_uploads() {
+    local round="$1"
+    for ((u = 0; u < UPLOADS; u++)); do
+        {
+            echo "id,type,dueDate"
+            for ((r = 0; r < ROWS; r++)); do
+                echo "$round-$u-$r,type1,$(printf '%02d' $((r % 28 + 1)))/04/2025"
+            done
+        } > "$WORK/$round-$u.csv"
+    done
+}
+
+# Uploads every file of a round concurrently and prints "<status> <seconds>" per upload
+fire() {
+    local round="$1"
+    for ((u = 0; u < UPLOADS; u++)); do
+        echo "$u"
+    done | xargs -P "$CONCURRENCY" -I{} sh -c \
+        "curl -s -o /dev/null -w '%{http_code} %{time_total}\n' \
+        -F file=@$WORK/$round-{}.csv http://localhost:$PORT/api/uploadWorkOrder/org\$(({} % $ORGS))"
+}
+
+benchmark() {
+    local label="$1" virtual="$2" pid start elapsed
+    "$JAVA" -jar "$JAR" --server.port="$PORT" \
+        --spring.threads.virtual.enabled="$virtual" \
+        --scheduler.quota.defaults.maxConcurrentJobs="$UPLOADS" > "$WORK/$label.log" 2>&1 &
+    pid=$!
+
+    until curl -sf -o /dev/null -F "file=@$WORK/catalogs.ndjson" "http://localhost:$PORT/api/createCatalogs"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "application exited during startup, see $WORK/$label.log" >&2
+            exit 1
+        fi
+        sleep 0.1
+    done
+
+    fire "warmup" > /dev/null
+    start=$(date +%s%3N)
+    fire "measured" > "$WORK/$label.txt"
+    elapsed=$(( $(date +%s%3N) - start ))
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+
+    awk '{print $2}' "$WORK/$label.txt" | sort -n | awk -v label="$label" -v ms="$elapsed" \
+        -v failed="$(awk '$1 != 200' "$WORK/$label.txt" | wc -l)" '
+        { t[NR] = $1 }
+        END {
+            printf "%-9s %7.1f uploads/s   p50 %6.0f ms   p95 %6.0f ms   p99 %6.0f ms   max %6.0f ms   failed %d\n",
+                label, NR * 1000 / ms, t[int(NR * 0.50) + 1] * 1000, t[int(NR * 0.95) + 1] * 1000,
+                t[int(NR * 0.99) + 1] * 1000, t[NR] * 1000, failed
+        }'
+}
+
+generate_uploads "warmup"
+generate_uploads "measured"
+echo "$UPLOADS uploads of $ROWS work orders, $CONCURRENCY concurrent, $ORGS orgs"
+benchmark "platform" false
+benchmark "virtual" true
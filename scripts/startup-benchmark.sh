@@ -0,0 +1,66 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-successful-schedule of the plain fat jar against the
+# AOT + CDS build, i.e. from process launch until a work order upload is scheduled.
+#
+# Build first:   ./mvnw -Pcds package -DskipTests
+# Run:           scripts/startup-benchmark.sh [runs]
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+JAR="target/TaskScheduler-0.0.1-SNAPSHOT.jar"
+CDS_DIR="target/cds"
+DATA="src/main/resources/training"
+
+if [[ ! -f "$JAR" || ! -f "$CDS_DIR/application.jsa" ]]; then
+    echo "Build with ./mvnw -Pcds package -DskipTests first" >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+# Starts the application with the given JVM arguments and prints the milliseconds
+# until stations, work order types and a work order upload all succeed.
+time_to_first_schedule() {
+    local start pid elapsed
+    start=$(now_ms)
+    "$JAVA" "$@" --server.port="$PORT" > /dev/null 2>&1 &
+    pid=$!
+
+    until curl -sf -o /dev/null -F "file=@$DATA/stations.json" "http://localhost:$PORT/api/createStation"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "application exited during startup" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    curl -sf -o /dev/null -F "file=@$DATA/work_order_types.json" "http://localhost:$PORT/api/createWorkOrderTypes"
+    curl -sf -o /dev/null -F "file=@$DATA/work_orders.csv" "http://localhost:$PORT/api/uploadWorkOrder/training"
+    elapsed=$(( $(now_ms) - start ))
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$elapsed"
+}
+
+benchmark() {
+    local label="$1"
+    shift
+    local total=0 times=() t
+    for ((i = 1; i <= RUNS; i++)); do
+        t=$(time_to_first_schedule "$@")
+        times+=("$t")
+        total=$((total + t))
+    done
+    printf '%-10s avg %5d ms   runs: %s\n' "$label" $((total / RUNS)) "${times[*]}"
+}
+
+benchmark "plain" -jar "$JAR"
+benchmark "aot+cds" -XX:SharedArchiveFile="$CDS_DIR/application.jsa" -Dspring.aot.enabled=true -jar "$CDS_DIR/TaskScheduler-0.0.1-SNAPSHOT.jar"
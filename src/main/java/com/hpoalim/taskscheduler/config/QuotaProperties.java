@@ -0,0 +1,79 @@
+package com.hpoalim.taskscheduler.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-organization admission quotas, bound from {@code scheduler.quota.*}.
+ *
+ * <p><strong>defaults</strong> apply to every organization; entries under
+ * <strong>orgs</strong> override individual limits for a single organization, e.g.
+ * {@code scheduler.quota.orgs.bigOrg.weight=4}. Limits left unset in an override
+ * fall back to the defaults.
+ */
+@Getter
+@Setter
+@ToString
+@ConfigurationProperties(prefix = "scheduler.quota")
+public class QuotaProperties {
+
+    /**
+     * Number of worker threads shared by all organizations for scheduling jobs.
+     */
+    private int workerThreads = Runtime.getRuntime().availableProcessors();
+
+    private OrgQuota defaults = new OrgQuota(2, 500_000, 10L * 1024 * 1024, 1);
+
+    private Map<String, OrgQuota> orgs = new HashMap<>();
+
+    /**
+     * Returns the effective quota of an organization, merging its override with the defaults.
+     */
+    public OrgQuota resolve(String org) {
+        OrgQuota override = orgs.get(org);
+        if (override == null) {
+            return defaults;
+        }
+        return new OrgQuota(
+                override.getMaxConcurrentJobs() != null ? override.getMaxConcurrentJobs() : defaults.getMaxConcurrentJobs(),
+                override.getWorkOrdersPerMinute() != null ? override.getWorkOrdersPerMinute() : defaults.getWorkOrdersPerMinute(),
+                override.getMaxUploadBytes() != null ? override.getMaxUploadBytes() : defaults.getMaxUploadBytes(),
+                override.getWeight() != null ? override.getWeight() : defaults.getWeight()
+        );
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @ToString
+    public static class OrgQuota {
+        /**
+         * Maximum number of upload jobs and admission batches of the organization running or queued at once.
+         */
+        private Integer maxConcurrentJobs;
+
+        /**
+         * Number of work orders the organization may submit per minute, on average. A single
+         * upload may exceed it; the organization then waits until the excess has been refilled.
+         */
+        private Integer workOrdersPerMinute;
+
+        /**
+         * Maximum size of a single work order upload, in bytes.
+         */
+        private Long maxUploadBytes;
+
+        /**
+         * Share of the worker threads relative to other organizations.
+         */
+        private Integer weight;
+    }
+}
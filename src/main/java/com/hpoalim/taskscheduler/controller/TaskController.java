@@ -1,20 +1,33 @@
 package com.hpoalim.taskscheduler.controller;
 
+import com.hpoalim.taskscheduler.dto.response.CatalogImportResponse;
 import com.hpoalim.taskscheduler.dto.response.ScheduledTaskResponse;
+import com.hpoalim.taskscheduler.dto.response.ThrottlingResponse;
+import com.hpoalim.taskscheduler.dto.response.TracedScheduleResponse;
+import com.hpoalim.taskscheduler.exception.QuotaExceededException;
 import com.hpoalim.taskscheduler.model.ScheduledTask;
+import com.hpoalim.taskscheduler.model.WorkOrder;
 import com.hpoalim.taskscheduler.server.TaskService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM_VALUE;
 import static org.springframework.http.MediaType.MULTIPART_FORM_DATA_VALUE;
 
 @Slf4j
@@ -35,17 +48,80 @@ public class TaskController {
         }
     }
 
+    /**
+     * Exports the organization's schedule as a columnar binary file
+     * (see {@link com.hpoalim.taskscheduler.export.ScheduleColumnarReader}).
+     */
+    @GetMapping(value = "/schedule/{org}/export", produces = APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Resource> exportSchedule(@PathVariable("org") @Valid @NotEmpty String org) {
+        try {
+            Path file = taskService.exportSchedule(org);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                    .body(new FileSystemResource(file));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    @GetMapping(value = "/throttling", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<ThrottlingResponse> throttling() {
+        return ResponseEntity.ok(taskService.getThrottling());
+    }
+
     @PostMapping(value = "/uploadWorkOrder/{org}", consumes = MULTIPART_FORM_DATA_VALUE, produces = APPLICATION_JSON_VALUE)
     public ResponseEntity<List<ScheduledTask>> uploadWorkOrder(
             @PathVariable("org") @Valid @NotEmpty String org,
             @RequestPart("file") @Valid @NotNull MultipartFile file) {
         try {
             return ResponseEntity.ok(taskService.createWorkOrders(org, file));
+        } catch (QuotaExceededException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(null);
         } catch (Exception e) {
             return ResponseEntity.status(500).body(null);
         }
     }
 
+    /**
+     * Same as {@link #uploadWorkOrder}, but also returns the search cost of every work order.
+     * Selected by the {@code trace=true} request parameter.
+     */
+    @PostMapping(value = "/uploadWorkOrder/{org}", params = "trace=true",
+            consumes = MULTIPART_FORM_DATA_VALUE, produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<TracedScheduleResponse> uploadWorkOrderWithTrace(
+            @PathVariable("org") @Valid @NotEmpty String org,
+            @RequestPart("file") @Valid @NotNull MultipartFile file) {
+        try {
+            return ResponseEntity.ok(taskService.createWorkOrdersWithTrace(org, file));
+        } catch (QuotaExceededException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(null);
+        }
+    }
+
+    @PostMapping(value = "/submitWorkOrder/{org}", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<List<ScheduledTask>>> submitWorkOrder(
+            @PathVariable("org") @Valid @NotEmpty String org,
+            @RequestBody @Valid @NotNull WorkOrder workOrder) {
+        try {
+            return taskService.submitWorkOrder(org, workOrder)
+                    .thenApply(ResponseEntity::ok)
+                    .exceptionally(e -> {
+                        Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                        HttpStatus status = cause instanceof QuotaExceededException
+                                ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.INTERNAL_SERVER_ERROR;
+                        return ResponseEntity.status(status).<List<ScheduledTask>>body(null);
+                    });
+        } catch (QuotaExceededException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(null));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(500).body(null));
+        }
+    }
+
     @PostMapping(value = "/createStation", consumes = MULTIPART_FORM_DATA_VALUE, produces = APPLICATION_JSON_VALUE)
     public ResponseEntity<String> createStation(@RequestPart("file") @Valid @NotNull MultipartFile file) {
         try {
@@ -65,4 +141,17 @@ public class TaskController {
             return ResponseEntity.status(500).body("Error raising the file:" + file.getName());
         }
     }
+
+    @PostMapping(value = "/createCatalogs", consumes = MULTIPART_FORM_DATA_VALUE, produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<CatalogImportResponse> createCatalogs(@RequestPart("file") @Valid @NotNull MultipartFile file) {
+        try {
+            CatalogImportResponse response = taskService.createCatalogs(file);
+            if (response.getError() != null) {
+                return ResponseEntity.badRequest().body(response);
+            }
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(null);
+        }
+    }
 }
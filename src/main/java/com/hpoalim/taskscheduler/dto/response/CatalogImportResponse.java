@@ -0,0 +1,21 @@
+package com.hpoalim.taskscheduler.dto.response;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class CatalogImportResponse {
+    private int registeredOrgs;
+    private List<String> rejected = new ArrayList<>();
+
+    /**
+     * Why the upload could not be read to the end, or null if it was read completely.
+     */
+    private String error;
+}
@@ -0,0 +1,17 @@
+package com.hpoalim.taskscheduler.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class OrgThrottlingDto {
+    private int activeJobs;
+    private long admittedJobs;
+    private long admittedWorkOrders;
+    private long throttledConcurrentJobs;
+    private long throttledWorkOrderRate;
+    private long throttledUploadSize;
+}
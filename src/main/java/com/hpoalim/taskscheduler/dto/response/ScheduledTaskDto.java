@@ -20,4 +20,14 @@ public class ScheduledTaskDto {
 
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
     private LocalDateTime endTime;
+
+    /**
+     * 1-based index of this segment, for operations split across work days.
+     */
+    private int segment;
+
+    /**
+     * Number of segments the operation was split into; 1 if it was not split.
+     */
+    private int segmentCount;
 }
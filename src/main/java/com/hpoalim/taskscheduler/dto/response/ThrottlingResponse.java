@@ -0,0 +1,21 @@
+package com.hpoalim.taskscheduler.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@ToString
+public class ThrottlingResponse {
+    Map<String, OrgThrottlingDto> orgs;
+
+    public ThrottlingResponse() {
+        this.orgs = new HashMap<>();
+    }
+}
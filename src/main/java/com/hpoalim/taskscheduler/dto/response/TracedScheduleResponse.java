@@ -0,0 +1,16 @@
+package com.hpoalim.taskscheduler.dto.response;
+
+import com.hpoalim.taskscheduler.model.ScheduledTask;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class TracedScheduleResponse {
+    private List<ScheduledTask> scheduledTasks;
+    private List<WorkOrderTraceDto> trace;
+}
@@ -0,0 +1,16 @@
+package com.hpoalim.taskscheduler.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class WorkOrderTraceDto {
+    private String workOrderId;
+    private int operations;
+    private int daysProbed;
+    private int canFitCalls;
+    private long elapsedMicros;
+}
@@ -0,0 +1,17 @@
+package com.hpoalim.taskscheduler.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when an organization's request is rejected by its admission quota.
+ */
+@Getter
+public class QuotaExceededException extends RuntimeException {
+
+    private final String org;
+
+    public QuotaExceededException(String org, String message) {
+        super(message + " for org " + org);
+        this.org = org;
+    }
+}
@@ -0,0 +1,60 @@
+package com.hpoalim.taskscheduler.export;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the columnar schedule file, shared by {@link ScheduleColumnarWriter} and
+ * {@link ScheduleColumnarReader}. All numbers are little-endian.
+ *
+ * <pre>
+ * header:
+ *   int32   magic ("TSCF")
+ *   int32   version
+ *   int64   row count
+ *   int16   org length, then org as UTF-8
+ *   int32   column count
+ *   per column:
+ *     int16 name length, then name as UTF-8
+ *     int8  column type
+ *     int64 offset of the column data from the start of the file
+ *     int64 length of the column data
+ * column data (each column starts on an 8-byte boundary):
+ *   INT32      int32[rows]
+ *   INT64      int64[rows]
+ *   UTF8       int32 offsets[rows + 1], then the UTF-8 bytes; value i is bytes[offsets[i], offsets[i + 1])
+ *   DICT_UTF8  int32 codes[rows], int32 dictionary size, then the dictionary laid out as UTF8
+ * </pre>
+ */
+public final class ColumnarFormat {
+
+    public static final int MAGIC = 0x46435354;
+    public static final int VERSION = 2;
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    public static final byte TYPE_INT32 = 1;
+    public static final byte TYPE_INT64 = 2;
+    public static final byte TYPE_UTF8 = 3;
+    public static final byte TYPE_DICT_UTF8 = 4;
+
+    public static final String WORK_ORDER_ID = "work_order_id";
+    public static final String WORK_ORDER_TYPE = "work_order_type";
+    /** Due date as days since 1970-01-01. */
+    public static final String DUE_DATE = "due_date";
+    public static final String OPERATION = "operation";
+    public static final String STATION = "station";
+    /** Start time as seconds since 1970-01-01T00:00, read as UTC. */
+    public static final String START_TIME = "start_time";
+    /** End time as seconds since 1970-01-01T00:00, read as UTC. */
+    public static final String END_TIME = "end_time";
+    /** 1-based index of the task's segment, for operations split across work days. */
+    public static final String SEGMENT = "segment";
+    /** Number of segments the task's operation was split into; 1 if it was not split. */
+    public static final String SEGMENT_COUNT = "segment_count";
+
+    private ColumnarFormat() {
+    }
+
+    static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+}
@@ -0,0 +1,277 @@
+package com.hpoalim.taskscheduler.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static com.hpoalim.taskscheduler.export.ColumnarFormat.*;
+
+/**
+ * Reads a columnar schedule file written by {@link ScheduleColumnarWriter}.
+ *
+ * <p>Every column is memory-mapped on demand and read in place, so a job scanning millions of
+ * tasks only touches the pages of the columns it uses. The reader depends on the JDK only and
+ * can be copied into analytic jobs together with {@link ColumnarFormat}.
+ *
+ * <pre>
+ * try (ScheduleColumnarReader reader = ScheduleColumnarReader.open(path)) {
+ *     LongColumn start = reader.longColumn(ColumnarFormat.START_TIME);
+ *     StringColumn station = reader.stringColumn(ColumnarFormat.STATION);
+ *     for (int row = 0; row &lt; reader.getRowCount(); row++) {
+ *         ... start.get(row) ... station.code(row) ...
+ *     }
+ * }
+ * </pre>
+ */
+public final class ScheduleColumnarReader implements Closeable {
+
+    private final FileChannel channel;
+    private final String org;
+    private final int rowCount;
+
+    /**
+     * A map of column name -> location of the column in the file, in file order
+     */
+    private final Map<String, ColumnInfo> columns;
+
+    private ScheduleColumnarReader(FileChannel channel, String org, int rowCount, Map<String, ColumnInfo> columns) {
+        this.channel = channel;
+        this.org = org;
+        this.rowCount = rowCount;
+        this.columns = columns;
+    }
+
+    public static ScheduleColumnarReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            // Only the header is read here; column data is mapped when a column is requested
+            long size = channel.size();
+            HeaderReader header = new HeaderReader(channel, path);
+            if (size < 8 || header.readInt() != MAGIC) {
+                throw new IOException("Not a columnar schedule file: " + path);
+            }
+            int version = header.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported columnar schedule version " + version + ": " + path);
+            }
+            long rows = header.readLong();
+            if (rows < 0 || rows > Integer.MAX_VALUE) {
+                throw new IOException("Invalid row count (" + rows + "): " + path);
+            }
+            String org = header.readString();
+            int columnCount = header.readInt();
+            if (columnCount < 0) {
+                throw new IOException("Invalid column count (" + columnCount + "): " + path);
+            }
+            Map<String, ColumnInfo> columns = new LinkedHashMap<>();
+            for (int i = 0; i < columnCount; i++) {
+                String name = header.readString();
+                ColumnInfo info = new ColumnInfo(header.readByte(), header.readLong(), header.readLong());
+                if (info.offset < 0 || info.length < 0 || info.length > Integer.MAX_VALUE || info.offset > size - info.length) {
+                    throw new IOException("Column " + name + " at " + info.offset + " with length " + info.length
+                            + " does not fit in " + size + " bytes: " + path);
+                }
+                columns.put(name, info);
+            }
+            return new ScheduleColumnarReader(channel, org, (int) rows, columns);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public String getOrg() {
+        return org;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public Set<String> getColumnNames() {
+        return Collections.unmodifiableSet(columns.keySet());
+    }
+
+    public IntColumn intColumn(String name) throws IOException {
+        return new IntColumn(map(name, TYPE_INT32).asIntBuffer());
+    }
+
+    public LongColumn longColumn(String name) throws IOException {
+        return new LongColumn(map(name, TYPE_INT64).asLongBuffer());
+    }
+
+    /**
+     * Returns a string column, either plain or dictionary-encoded.
+     */
+    public StringColumn stringColumn(String name) throws IOException {
+        ColumnInfo info = column(name);
+        if (info.type == TYPE_UTF8) {
+            return new StringColumn(map(name, TYPE_UTF8), rowCount);
+        }
+        ByteBuffer data = map(name, TYPE_DICT_UTF8);
+        IntBuffer codes = data.slice(0, 4 * rowCount).order(BYTE_ORDER).asIntBuffer();
+        int dictionarySize = data.getInt(4 * rowCount);
+        StringColumn entries = new StringColumn(
+                data.slice(4 * rowCount + 4, data.capacity() - 4 * rowCount - 4).order(BYTE_ORDER),
+                dictionarySize);
+        String[] dictionary = new String[dictionarySize];
+        for (int i = 0; i < dictionarySize; i++) {
+            dictionary[i] = entries.get(i);
+        }
+        return new StringColumn(codes, dictionary);
+    }
+
+    /**
+     * Closes the file. Columns obtained earlier stay readable until they are garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ColumnInfo column(String name) {
+        ColumnInfo info = columns.get(name);
+        if (info == null) {
+            throw new IllegalArgumentException("No column " + name + ", available: " + columns.keySet());
+        }
+        return info;
+    }
+
+    private ByteBuffer map(String name, byte expectedType) throws IOException {
+        ColumnInfo info = column(name);
+        if (info.type != expectedType) {
+            throw new IllegalArgumentException("Column " + name + " has type " + info.type + ", expected " + expectedType);
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, info.offset, info.length);
+        buffer.order(BYTE_ORDER);
+        return buffer;
+    }
+
+    /**
+     * Reads the header fields one after another with positional reads.
+     */
+    private static final class HeaderReader {
+        private final FileChannel channel;
+        private final Path path;
+        private long position;
+
+        private HeaderReader(FileChannel channel, Path path) {
+            this.channel = channel;
+            this.path = path;
+        }
+
+        private ByteBuffer read(int length) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(length).order(BYTE_ORDER);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("Truncated columnar schedule header: " + path);
+                }
+            }
+            position += length;
+            return buffer.flip();
+        }
+
+        private byte readByte() throws IOException {
+            return read(1).get();
+        }
+
+        private int readInt() throws IOException {
+            return read(4).getInt();
+        }
+
+        private long readLong() throws IOException {
+            return read(8).getLong();
+        }
+
+        private String readString() throws IOException {
+            int length = Short.toUnsignedInt(read(2).getShort());
+            return new String(read(length).array(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private record ColumnInfo(byte type, long offset, long length) {
+    }
+
+    public static final class IntColumn {
+        private final IntBuffer values;
+
+        private IntColumn(IntBuffer values) {
+            this.values = values;
+        }
+
+        public int get(int row) {
+            return values.get(row);
+        }
+    }
+
+    public static final class LongColumn {
+        private final LongBuffer values;
+
+        private LongColumn(LongBuffer values) {
+            this.values = values;
+        }
+
+        public long get(int row) {
+            return values.get(row);
+        }
+    }
+
+    /**
+     * A string column. Dictionary-encoded columns can be scanned by {@link #code(int)}
+     * without decoding any string.
+     */
+    public static final class StringColumn {
+        private final IntBuffer offsetsOrCodes;
+        private final ByteBuffer bytes;
+        private final String[] dictionary;
+
+        private StringColumn(ByteBuffer data, int count) {
+            this.offsetsOrCodes = data.slice(0, 4 * (count + 1)).order(BYTE_ORDER).asIntBuffer();
+            this.bytes = data.slice(4 * (count + 1), data.capacity() - 4 * (count + 1));
+            this.dictionary = null;
+        }
+
+        private StringColumn(IntBuffer codes, String[] dictionary) {
+            this.offsetsOrCodes = codes;
+            this.bytes = null;
+            this.dictionary = dictionary;
+        }
+
+        public boolean isDictionaryEncoded() {
+            return dictionary != null;
+        }
+
+        /**
+         * Returns the dictionary code of the row; only for dictionary-encoded columns.
+         */
+        public int code(int row) {
+            if (dictionary == null) {
+                throw new IllegalStateException("Column is not dictionary-encoded");
+            }
+            return offsetsOrCodes.get(row);
+        }
+
+        public List<String> dictionary() {
+            return dictionary == null ? Collections.emptyList() : Arrays.asList(dictionary);
+        }
+
+        public String get(int row) {
+            if (dictionary != null) {
+                return dictionary[offsetsOrCodes.get(row)];
+            }
+            int start = offsetsOrCodes.get(row);
+            int end = offsetsOrCodes.get(row + 1);
+            byte[] value = new byte[end - start];
+            bytes.get(start, value);
+            return new String(value, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.hpoalim.taskscheduler.export;
+
+import com.hpoalim.taskscheduler.model.ScheduledTask;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import static com.hpoalim.taskscheduler.export.ColumnarFormat.*;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Writes an organization's schedule to a columnar file (see {@link ColumnarFormat}).
+ *
+ * <p>Each column is encoded into primitive arrays first, so the total file size is known up front,
+ * and then written through its own memory-mapped region of the file.
+ */
+public final class ScheduleColumnarWriter {
+
+    private ScheduleColumnarWriter() {
+    }
+
+    /**
+     * Writes the tasks to the target file, replacing any existing content.
+     *
+     * @param org    the organization ID, stored in the header
+     * @param tasks  the scheduled tasks, one row each
+     * @param target the file to write
+     */
+    public static void write(String org, List<ScheduledTask> tasks, Path target) throws IOException {
+        List<ColumnData> columns = List.of(
+                utf8(WORK_ORDER_ID, tasks, t -> t.getWorkOrder().getId()),
+                dictionary(WORK_ORDER_TYPE, tasks, t -> t.getWorkOrder().getType()),
+                int32(DUE_DATE, tasks, t -> (int) t.getWorkOrder().getDueDate().toEpochDay()),
+                dictionary(OPERATION, tasks, ScheduledTask::getOperation),
+                dictionary(STATION, tasks, t -> t.getStation().getName()),
+                int64(START_TIME, tasks, t -> t.getStartTime().toEpochSecond(ZoneOffset.UTC)),
+                int64(END_TIME, tasks, t -> t.getEndTime().toEpochSecond(ZoneOffset.UTC)),
+                int32(SEGMENT, tasks, ScheduledTask::getSegment),
+                int32(SEGMENT_COUNT, tasks, ScheduledTask::getSegmentCount)
+        );
+
+        byte[] orgBytes = encode(org);
+        long headerLength = 4 + 4 + 8 + 2 + orgBytes.length + 4;
+        for (ColumnData column : columns) {
+            headerLength += 2 + encode(column.name).length + 1 + 8 + 8;
+        }
+
+        long[] offsets = new long[columns.size()];
+        long position = align(headerLength);
+        for (int i = 0; i < columns.size(); i++) {
+            offsets[i] = position;
+            position = align(position + columns.get(i).length());
+        }
+
+        try (FileChannel channel = FileChannel.open(target, CREATE, TRUNCATE_EXISTING, READ, WRITE)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, headerLength);
+            header.order(BYTE_ORDER);
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putLong(tasks.size());
+            header.putShort((short) orgBytes.length);
+            header.put(orgBytes);
+            header.putInt(columns.size());
+            for (int i = 0; i < columns.size(); i++) {
+                ColumnData column = columns.get(i);
+                byte[] name = encode(column.name);
+                header.putShort((short) name.length);
+                header.put(name);
+                header.put(column.type);
+                header.putLong(offsets[i]);
+                header.putLong(column.length());
+            }
+            header.force();
+
+            for (int i = 0; i < columns.size(); i++) {
+                ColumnData column = columns.get(i);
+                long length = column.length();
+                if (length > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("Column " + column.name + " exceeds 2GB");
+                }
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE, offsets[i], length);
+                region.order(BYTE_ORDER);
+                column.write(region);
+                region.force();
+            }
+        }
+    }
+
+    private static ColumnData int32(String name, List<ScheduledTask> tasks, ToIntFunction<ScheduledTask> getter) {
+        int[] values = new int[tasks.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getter.applyAsInt(tasks.get(i));
+        }
+        return new ColumnData(name, TYPE_INT32) {
+            long length() {
+                return 4L * values.length;
+            }
+
+            void write(ByteBuffer buffer) {
+                buffer.asIntBuffer().put(values);
+            }
+        };
+    }
+
+    private static ColumnData int64(String name, List<ScheduledTask> tasks, ToLongFunction<ScheduledTask> getter) {
+        long[] values = new long[tasks.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getter.applyAsLong(tasks.get(i));
+        }
+        return new ColumnData(name, TYPE_INT64) {
+            long length() {
+                return 8L * values.length;
+            }
+
+            void write(ByteBuffer buffer) {
+                buffer.asLongBuffer().put(values);
+            }
+        };
+    }
+
+    private static ColumnData utf8(String name, List<ScheduledTask> tasks, Function<ScheduledTask, String> getter) {
+        List<String> values = new ArrayList<>(tasks.size());
+        for (ScheduledTask task : tasks) {
+            values.add(getter.apply(task));
+        }
+        Utf8Values encoded = new Utf8Values(values);
+        return new ColumnData(name, TYPE_UTF8) {
+            long length() {
+                return encoded.length();
+            }
+
+            void write(ByteBuffer buffer) {
+                encoded.write(buffer);
+            }
+        };
+    }
+
+    private static ColumnData dictionary(String name, List<ScheduledTask> tasks, Function<ScheduledTask, String> getter) {
+        int[] codes = new int[tasks.size()];
+        Map<String, Integer> codeByValue = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        for (int i = 0; i < codes.length; i++) {
+            String value = getter.apply(tasks.get(i));
+            codes[i] = codeByValue.computeIfAbsent(value == null ? "" : value, v -> {
+                entries.add(v);
+                return entries.size() - 1;
+            });
+        }
+        Utf8Values dictionary = new Utf8Values(entries);
+        return new ColumnData(name, TYPE_DICT_UTF8) {
+            long length() {
+                return 4L * codes.length + 4 + dictionary.length();
+            }
+
+            void write(ByteBuffer buffer) {
+                buffer.asIntBuffer().put(codes);
+                buffer.position(4 * codes.length);
+                buffer.putInt(entries.size());
+                dictionary.write(buffer);
+            }
+        };
+    }
+
+    private static byte[] encode(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private abstract static class ColumnData {
+        private final String name;
+        private final byte type;
+
+        private ColumnData(String name, byte type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        abstract long length();
+
+        abstract void write(ByteBuffer buffer);
+    }
+
+    /**
+     * Strings encoded as an offsets array followed by their concatenated UTF-8 bytes.
+     */
+    private static final class Utf8Values {
+        private final byte[][] bytes;
+        private final int[] offsets;
+
+        private Utf8Values(List<String> values) {
+            this.bytes = new byte[values.size()][];
+            this.offsets = new int[values.size() + 1];
+            long total = 0;
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = encode(values.get(i));
+                total += bytes[i].length;
+                if (total > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("String column exceeds 2GB");
+                }
+                offsets[i + 1] = (int) total;
+            }
+        }
+
+        private long length() {
+            return 4L * offsets.length + offsets[offsets.length - 1];
+        }
+
+        private void write(ByteBuffer buffer) {
+            ByteBuffer view = buffer.slice().order(BYTE_ORDER);
+            view.asIntBuffer().put(offsets);
+            view.position(4 * offsets.length);
+            for (byte[] value : bytes) {
+                view.put(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.hpoalim.taskscheduler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one {@code scheduleWorkOrders} call.
+ */
+@Name("com.hpoalim.taskscheduler.ScheduleBatch")
+@Label("Schedule Batch")
+@Category({"TaskScheduler", "Scheduler"})
+@Description("Scheduling of a batch of work orders for one organization")
+@StackTrace(false)
+public class ScheduleBatchEvent extends Event {
+
+    @Label("Org")
+    public String org;
+
+    @Label("Work Orders")
+    public int workOrders;
+
+    @Label("Scheduled Tasks")
+    public int scheduledTasks;
+}
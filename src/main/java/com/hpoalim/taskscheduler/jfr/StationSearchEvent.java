@@ -0,0 +1,37 @@
+package com.hpoalim.taskscheduler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one search for a free slot on a station.
+ */
+@Name("com.hpoalim.taskscheduler.StationSearch")
+@Label("Station Search")
+@Category({"TaskScheduler", "Scheduler"})
+@Description("Search for a free slot for one operation on its station")
+@StackTrace(false)
+public class StationSearchEvent extends Event {
+
+    @Label("Org")
+    public String org;
+
+    @Label("Work Order")
+    public String workOrderId;
+
+    @Label("Station")
+    public String station;
+
+    @Label("Duration Minutes")
+    public int durationMinutes;
+
+    @Label("Days Probed")
+    public int daysProbed;
+
+    @Label("canFit Calls")
+    public int canFitCalls;
+}
@@ -0,0 +1,39 @@
+package com.hpoalim.taskscheduler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering the scheduling of all operations of a single work order.
+ */
+@Name("com.hpoalim.taskscheduler.WorkOrderScheduled")
+@Label("Work Order Scheduled")
+@Category({"TaskScheduler", "Scheduler"})
+@Description("Scheduling of all operations of a single work order")
+@StackTrace(false)
+public class WorkOrderScheduledEvent extends Event {
+
+    @Label("Org")
+    public String org;
+
+    @Label("Work Order")
+    public String workOrderId;
+
+    @Label("Work Order Type")
+    public String workOrderType;
+
+    @Label("Operations")
+    public int operations;
+
+    @Label("Days Probed")
+    @Description("Days probed across all station searches of the work order")
+    public int daysProbed;
+
+    @Label("canFit Calls")
+    @Description("Capacity checks across all station searches of the work order")
+    public int canFitCalls;
+}
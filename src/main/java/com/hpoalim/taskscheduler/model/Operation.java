@@ -17,4 +17,9 @@ public class Operation {
     private String name;
 
     private double durationHours;
+
+    /**
+     * Whether the operation may be split into segments across work days.
+     */
+    private boolean splittable;
 }
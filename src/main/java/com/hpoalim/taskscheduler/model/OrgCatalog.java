@@ -0,0 +1,24 @@
+package com.hpoalim.taskscheduler.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * The complete catalog of one organization: its stations and work order types.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class OrgCatalog {
+
+    private String org;
+
+    private List<Station> stations;
+
+    private List<WorkOrderType> workOrderTypes;
+}
@@ -25,4 +25,19 @@ public class ScheduledTask {
 
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
     private LocalDateTime endTime;
+
+    /**
+     * 1-based index of this segment, for operations split across work days.
+     */
+    private int segment = 1;
+
+    /**
+     * Number of segments the operation was split into; 1 if it was not split.
+     */
+    private int segmentCount = 1;
+
+    public ScheduledTask(WorkOrder workOrder, String operation, Station station,
+                         LocalDateTime startTime, LocalDateTime endTime) {
+        this(workOrder, operation, station, startTime, endTime, 1, 1);
+    }
 }
@@ -0,0 +1,140 @@
+package com.hpoalim.taskscheduler.server;
+
+import com.hpoalim.taskscheduler.dto.response.CatalogImportResponse;
+import com.hpoalim.taskscheduler.model.Operation;
+import com.hpoalim.taskscheduler.model.OrgCatalog;
+import com.hpoalim.taskscheduler.model.Station;
+import com.hpoalim.taskscheduler.model.WorkOrderType;
+import com.hpoalim.taskscheduler.util.JsonUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Registers the catalogs of many organizations from a single JSON array or NDJSON upload.
+ *
+ * <p>The upload is parsed incrementally, one {@link OrgCatalog} at a time. Each catalog is validated
+ * on its own; invalid ones are reported and skipped. Valid catalogs are registered in batches of
+ * <strong>batchSize</strong> through {@link Scheduler#replaceCatalogs(List)}, which replaces each
+ * organization's stations and work order types as a whole.
+ *
+ * <p>If the upload is malformed partway through, every catalog validated before the error is
+ * registered, including those of the unfinished batch, and the response reports them together
+ * with the error.
+ */
+@Slf4j
+@Service
+public class CatalogImportService {
+
+    private final Scheduler scheduler;
+    private final ScheduleResultCache resultCache;
+    private final int batchSize;
+
+    public CatalogImportService(
+            Scheduler scheduler,
+            ScheduleResultCache resultCache,
+            @Value("${scheduler.catalog.batchSize}") int batchSize
+    ) {
+        this.scheduler = scheduler;
+        this.resultCache = resultCache;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public CatalogImportResponse importCatalogs(MultipartFile file) {
+        CatalogImportResponse response = new CatalogImportResponse();
+        List<OrgCatalog> batch = new ArrayList<>(batchSize);
+
+        try {
+            JsonUtil.streamJsonValues(file, OrgCatalog.class, catalog -> {
+                String error = validate(catalog);
+                if (error != null) {
+                    log.warn("Rejected catalog for org {}: {}", catalog.getOrg(), error);
+                    response.getRejected().add(catalog.getOrg() + ": " + error);
+                    return;
+                }
+                batch.add(catalog);
+                if (batch.size() >= batchSize) {
+                    register(batch, response);
+                }
+            });
+            register(batch, response);
+        } catch (RuntimeException e) {
+            // The catalogs of the unfinished batch were parsed and validated completely, so keep them
+            try {
+                register(batch, response);
+            } catch (RuntimeException registerError) {
+                log.error("Failed to register {} validated org catalogs", batch.size(), registerError);
+            }
+            log.error("Catalog import stopped after {} registered org catalogs", response.getRegisteredOrgs(), e);
+            response.setError(e.getCause() != null ? e.getMessage() + ": " + e.getCause().getMessage() : e.getMessage());
+            return response;
+        }
+
+        log.info("Registered {} org catalogs, rejected {}", response.getRegisteredOrgs(), response.getRejected().size());
+        return response;
+    }
+
+    private void register(List<OrgCatalog> batch, CatalogImportResponse response) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        scheduler.replaceCatalogs(batch);
+        for (OrgCatalog catalog : batch) {
+            resultCache.invalidate(catalog.getOrg());
+        }
+        response.setRegisteredOrgs(response.getRegisteredOrgs() + batch.size());
+        batch.clear();
+    }
+
+    /**
+     * Returns why the catalog cannot be registered, or null if it is valid.
+     */
+    private String validate(OrgCatalog catalog) {
+        if (StringUtils.isEmpty(catalog.getOrg())) {
+            return "org cannot be null or empty";
+        }
+        if (catalog.getStations() == null || catalog.getStations().isEmpty()) {
+            return "Stations list cannot be null or empty";
+        }
+        if (catalog.getWorkOrderTypes() == null || catalog.getWorkOrderTypes().isEmpty()) {
+            return "WorkOrderTypes list cannot be null or empty";
+        }
+
+        int workDayMinutes = scheduler.getWorkDayMinutes();
+        Set<String> operations = new HashSet<>();
+        for (Station station : catalog.getStations()) {
+            if (StringUtils.isEmpty(station.getOperation())) {
+                return "Station " + station.getName() + " has no operation";
+            }
+            if (station.getCapacity() < 1) {
+                return "Station " + station.getName() + " must have a capacity of at least 1";
+            }
+            operations.add(station.getOperation());
+        }
+        for (WorkOrderType type : catalog.getWorkOrderTypes()) {
+            if (StringUtils.isEmpty(type.getName())) {
+                return "Work order type name cannot be null or empty";
+            }
+            if (type.getOperations() == null || type.getOperations().isEmpty()) {
+                return "Work order type " + type.getName() + " has no operations";
+            }
+            for (Operation operation : type.getOperations()) {
+                if (!operations.contains(operation.getName())) {
+                    return "No station for operation " + operation.getName() + " of type " + type.getName();
+                }
+                if (!operation.isSplittable() && Math.ceil(operation.getDurationHours() * 60) > workDayMinutes) {
+                    return "Operation " + operation.getName() + " of type " + type.getName()
+                            + " is longer than the work day; mark it splittable";
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,112 @@
+package com.hpoalim.taskscheduler.server;
+
+import com.hpoalim.taskscheduler.config.QuotaProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Worker pool shared by all organizations, dispatching jobs by weighted fair queuing.
+ *
+ * <p>Every job gets a virtual finish time of {@code max(virtualTime, lastFinish(org)) + cost / weight}.
+ * Idle workers always take the queued job with the smallest finish time, so an organization that
+ * submits a huge upload only delays itself: other organizations' jobs are interleaved in
+ * proportion to their weights.
+ *
+ * <p>Workers are platform threads even when requests run on virtual threads
+ * ({@code spring.threads.virtual.enabled}): the jobs are CPU bound, and a virtual worker would
+ * queue for a carrier behind every waiting request instead of being time-sliced by the OS.
+ * Request threads only block on the returned future.
+ */
+@Slf4j
+@Component
+public class FairShareExecutor {
+
+    private final ThreadPoolExecutor workers;
+
+    /**
+     * A map of organization ID -> virtual finish time of its last queued job
+     */
+    private final Map<String, Double> lastFinishByOrg;
+
+    /**
+     * Virtual start time of the most recently dispatched job.
+     */
+    private double virtualTime;
+
+    private final AtomicLong sequence;
+
+    public FairShareExecutor(QuotaProperties quotaProperties) {
+        int threads = Math.max(1, quotaProperties.getWorkerThreads());
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(),
+                r -> new Thread(r, "scheduler-worker-" + threadIndex.incrementAndGet()));
+        // Start all workers up front, so every job goes through the priority queue
+        this.workers.prestartAllCoreThreads();
+        this.lastFinishByOrg = new HashMap<>();
+        this.sequence = new AtomicLong();
+    }
+
+    /**
+     * Queues a job on behalf of an organization.
+     *
+     * @param org    the organization ID
+     * @param weight the organization's share of the workers
+     * @param cost   the estimated cost of the job (e.g. upload size in KB)
+     * @param job    the work to run
+     * @return a future completed with the job's result
+     */
+    public <T> Future<T> submit(String org, int weight, long cost, Callable<T> job) {
+        double start;
+        double finish;
+        synchronized (this) {
+            start = Math.max(virtualTime, lastFinishByOrg.getOrDefault(org, 0d));
+            finish = start + (double) Math.max(1, cost) / Math.max(1, weight);
+            lastFinishByOrg.put(org, finish);
+        }
+        FairShareTask<T> task = new FairShareTask<>(job, start, finish, sequence.incrementAndGet());
+        workers.execute(task);
+        return task;
+    }
+
+    private synchronized void advanceVirtualTime(double start) {
+        virtualTime = Math.max(virtualTime, start);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private class FairShareTask<T> extends FutureTask<T> implements Comparable<FairShareTask<?>> {
+        private final double virtualStart;
+        private final double virtualFinish;
+        private final long seq;
+
+        private FairShareTask(Callable<T> callable, double virtualStart, double virtualFinish, long seq) {
+            super(callable);
+            this.virtualStart = virtualStart;
+            this.virtualFinish = virtualFinish;
+            this.seq = seq;
+        }
+
+        @Override
+        public void run() {
+            advanceVirtualTime(virtualStart);
+            super.run();
+        }
+
+        @Override
+        public int compareTo(FairShareTask<?> other) {
+            int byFinish = Double.compare(virtualFinish, other.virtualFinish);
+            return byFinish != 0 ? byFinish : Long.compare(seq, other.seq);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.hpoalim.taskscheduler.server;
+
+import com.hpoalim.taskscheduler.config.QuotaProperties;
+import com.hpoalim.taskscheduler.config.QuotaProperties.OrgQuota;
+import com.hpoalim.taskscheduler.dto.response.OrgThrottlingDto;
+import com.hpoalim.taskscheduler.dto.response.ThrottlingResponse;
+import com.hpoalim.taskscheduler.exception.QuotaExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Enforces per-organization admission quotas and keeps throttling counters.
+ *
+ * <p>Each organization has a limit on concurrent upload jobs, on the size of a single upload,
+ * and a token bucket that refills <strong>workOrdersPerMinute</strong> work orders per minute.
+ * A request that exceeds any of them is rejected with a {@link QuotaExceededException}
+ * rather than queued, so one organization cannot build up a backlog that delays the others.
+ *
+ * <p>The bucket admits work while it is not empty and then charges the actual number of work
+ * orders, possibly going into debt. An upload with more rows than the per-minute rate is therefore
+ * accepted once, and the organization's next work waits until the debt has been refilled.
+ */
+@Slf4j
+@Service
+public class OrgQuotaManager {
+
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+    private final QuotaProperties quotaProperties;
+
+    /**
+     * A map of organization ID -> quota state and counters
+     */
+    private final Map<String, OrgState> states;
+
+    public OrgQuotaManager(QuotaProperties quotaProperties) {
+        this.quotaProperties = quotaProperties;
+        this.states = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the weight of the organization's share of the worker threads.
+     */
+    public int getWeight(String org) {
+        return Math.max(1, quotaProperties.resolve(org).getWeight());
+    }
+
+    /**
+     * Admits an upload job before it is parsed, checking the upload size, the work order budget
+     * and the concurrent jobs limit. Every successful call must be paired with {@link #releaseJob(String)},
+     * and the parsed work orders charged with {@link #chargeWorkOrders(String, int)}.
+     *
+     * @param org         the organization ID
+     * @param uploadBytes the size of the uploaded file
+     */
+    public void acquireJob(String org, long uploadBytes) {
+        OrgState state = getState(org);
+        checkUploadSize(org, uploadBytes);
+        if (!state.hasTokens()) {
+            state.throttledWorkOrderRate.incrementAndGet();
+            throw throttled(org, "Work order rate of " + state.quota.getWorkOrdersPerMinute() + " per minute exceeded");
+        }
+        acquireBatchJob(org);
+    }
+
+    /**
+     * Admits a job for a batch of work orders already taken from the budget by
+     * {@link #consumeWorkOrders(String, int)}, checking only the concurrent jobs limit.
+     * Every successful call must be paired with {@link #releaseJob(String)}.
+     *
+     * @param org the organization ID
+     */
+    public void acquireBatchJob(String org) {
+        OrgState state = getState(org);
+        if (!state.jobs.tryAcquire()) {
+            state.throttledConcurrentJobs.incrementAndGet();
+            throw throttled(org, "Too many concurrent jobs (limit " + state.quota.getMaxConcurrentJobs() + ")");
+        }
+        state.admittedJobs.incrementAndGet();
+    }
+
+    /**
+     * Rejects an upload larger than the organization's limit.
+     *
+     * @param org         the organization ID
+     * @param uploadBytes the size of the uploaded file
+     */
+    public void checkUploadSize(String org, long uploadBytes) {
+        OrgState state = getState(org);
+        if (uploadBytes > state.quota.getMaxUploadBytes()) {
+            state.throttledUploadSize.incrementAndGet();
+            throw throttled(org, "Upload of " + uploadBytes + " bytes exceeds the limit of "
+                    + state.quota.getMaxUploadBytes() + " bytes");
+        }
+    }
+
+    public void releaseJob(String org) {
+        getState(org).jobs.release();
+    }
+
+    /**
+     * Charges the work orders of an upload admitted by {@link #acquireJob(String, long)} to the
+     * organization's per-minute budget. Never rejects; the budget may go into debt.
+     *
+     * @param org   the organization ID
+     * @param count the number of work orders parsed from the upload
+     */
+    public void chargeWorkOrders(String org, int count) {
+        OrgState state = getState(org);
+        state.charge(count);
+        state.admittedWorkOrders.addAndGet(count);
+    }
+
+    /**
+     * Takes the given number of work orders from the organization's per-minute budget,
+     * if the budget is not empty.
+     *
+     * @param org   the organization ID
+     * @param count the number of work orders about to be scheduled
+     */
+    public void consumeWorkOrders(String org, int count) {
+        OrgState state = getState(org);
+        if (!state.tryConsume(count)) {
+            state.throttledWorkOrderRate.incrementAndGet();
+            throw throttled(org, "Work order rate of " + state.quota.getWorkOrdersPerMinute() + " per minute exceeded");
+        }
+        state.admittedWorkOrders.addAndGet(count);
+    }
+
+    public ThrottlingResponse getThrottlingStats() {
+        ThrottlingResponse response = new ThrottlingResponse();
+        states.forEach((org, state) -> response.getOrgs().put(org, new OrgThrottlingDto(
+                state.quota.getMaxConcurrentJobs() - state.jobs.availablePermits(),
+                state.admittedJobs.get(),
+                state.admittedWorkOrders.get(),
+                state.throttledConcurrentJobs.get(),
+                state.throttledWorkOrderRate.get(),
+                state.throttledUploadSize.get()
+        )));
+        return response;
+    }
+
+    private OrgState getState(String org) {
+        return states.computeIfAbsent(org, k -> new OrgState(quotaProperties.resolve(k)));
+    }
+
+    private QuotaExceededException throttled(String org, String reason) {
+        log.warn("Throttled: {} for org {}", reason, org);
+        return new QuotaExceededException(org, reason);
+    }
+
+    private static class OrgState {
+        private final OrgQuota quota;
+        private final Semaphore jobs;
+
+        private double tokens;
+        private long lastRefillNanos;
+
+        private final AtomicLong admittedJobs = new AtomicLong();
+        private final AtomicLong admittedWorkOrders = new AtomicLong();
+        private final AtomicLong throttledConcurrentJobs = new AtomicLong();
+        private final AtomicLong throttledWorkOrderRate = new AtomicLong();
+        private final AtomicLong throttledUploadSize = new AtomicLong();
+
+        private OrgState(OrgQuota quota) {
+            this.quota = quota;
+            this.jobs = new Semaphore(quota.getMaxConcurrentJobs());
+            this.tokens = quota.getWorkOrdersPerMinute();
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        private synchronized boolean hasTokens() {
+            refill();
+            return tokens > 0;
+        }
+
+        private synchronized boolean tryConsume(int count) {
+            refill();
+            if (tokens <= 0) {
+                return false;
+            }
+            tokens -= count;
+            return true;
+        }
+
+        private synchronized void charge(int count) {
+            refill();
+            tokens -= count;
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            double capacity = quota.getWorkOrdersPerMinute();
+            tokens = Math.min(capacity, tokens + capacity * (now - lastRefillNanos) / NANOS_PER_MINUTE);
+            lastRefillNanos = now;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.hpoalim.taskscheduler.server;
+
+import com.hpoalim.taskscheduler.export.ScheduleColumnarWriter;
+import com.hpoalim.taskscheduler.model.ScheduledTask;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Exports an organization's schedule to a columnar file for analytic jobs.
+ *
+ * <p>Files are written to <strong>scheduler.export.directory</strong> as {@code <org>.tscf}.
+ * A new export is written next to the old file and moved over it, so a job that already
+ * mapped the previous export keeps reading a consistent file.
+ */
+@Slf4j
+@Service
+public class ScheduleExportService {
+
+    private static final String FILE_EXTENSION = ".tscf";
+
+    private final Scheduler scheduler;
+    private final Path exportDirectory;
+
+    public ScheduleExportService(
+            Scheduler scheduler,
+            @Value("${scheduler.export.directory}") String exportDirectory
+    ) {
+        this.scheduler = scheduler;
+        this.exportDirectory = Path.of(exportDirectory);
+    }
+
+    /**
+     * Writes the organization's current schedule to its export file.
+     *
+     * @param org the organization ID
+     * @return the path of the export file
+     */
+    public Path export(String org) {
+        if (StringUtils.isEmpty(org) || !org.matches("[A-Za-z0-9._-]+")) {
+            throw new IllegalArgumentException("Invalid org for export: " + org);
+        }
+        List<ScheduledTask> tasks = scheduler.getScheduledTasks(org);
+        try {
+            Files.createDirectories(exportDirectory);
+            Path target = exportDirectory.resolve(org + FILE_EXTENSION);
+            Path temp = Files.createTempFile(exportDirectory, org, FILE_EXTENSION + ".tmp");
+            try {
+                ScheduleColumnarWriter.write(org, tasks, temp);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            log.info("Exported {} tasks for org {} to {}", tasks.size(), org, target);
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export schedule for org " + org, e);
+        }
+    }
+}
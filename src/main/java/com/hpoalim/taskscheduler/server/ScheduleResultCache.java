@@ -0,0 +1,101 @@
+package com.hpoalim.taskscheduler.server;
+
+import com.hpoalim.taskscheduler.model.ScheduledTask;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency cache for work order uploads.
+ *
+ * <p>Entries are keyed by organization, content hash of the uploaded file and the organization's
+ * catalog version (see {@link Scheduler#getCatalogVersion(String)}). A repeated upload of the same
+ * file returns the tasks of the first upload instead of scheduling the work orders again; an upload
+ * that arrives while an identical one is still being scheduled waits for and shares its result.
+ *
+ * <p>The cache holds at most <strong>maxEntries</strong> entries and evicts the least recently used
+ * one. Failed uploads are not cached, and callers waiting for them fail with the same exception.
+ */
+@Slf4j
+@Component
+public class ScheduleResultCache {
+
+    private final Map<Key, CompletableFuture<List<ScheduledTask>>> entries;
+
+    public ScheduleResultCache(@Value("${scheduler.resultCache.maxEntries}") int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CompletableFuture<List<ScheduledTask>>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached tasks for the upload, or schedules it with the given supplier and caches the result.
+     *
+     * @param org            the organization ID
+     * @param contentHash    hash of the uploaded file's content
+     * @param catalogVersion the organization's catalog version read before scheduling
+     * @param schedule       parses and schedules the upload on a cache miss
+     * @return the scheduled tasks (unmodifiable)
+     */
+    public List<ScheduledTask> getOrSchedule(String org,
+                                             String contentHash,
+                                             long catalogVersion,
+                                             Supplier<List<ScheduledTask>> schedule) {
+        Key key = new Key(org, contentHash, catalogVersion);
+        CompletableFuture<List<ScheduledTask>> future;
+        boolean owner = false;
+        synchronized (entries) {
+            future = entries.get(key);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                entries.put(key, future);
+                owner = true;
+            }
+        }
+
+        if (!owner) {
+            log.debug("Returning cached schedule for org {} and content {}", org, contentHash);
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            List<ScheduledTask> tasks = Collections.unmodifiableList(schedule.get());
+            future.complete(tasks);
+            return tasks;
+        } catch (Throwable e) {
+            // Errors too (e.g. OutOfMemoryError), or waiting callers would block on the future forever
+            synchronized (entries) {
+                entries.remove(key, future);
+            }
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Drops all entries of an organization, e.g. after its stations or work order types changed.
+     */
+    public void invalidate(String org) {
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.org().equals(org));
+        }
+    }
+
+    private record Key(String org, String contentHash, long catalogVersion) {
+    }
+}
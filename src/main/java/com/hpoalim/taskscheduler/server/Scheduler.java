@@ -1,6 +1,11 @@
 package com.hpoalim.taskscheduler.server;
 
+import com.hpoalim.taskscheduler.dto.response.WorkOrderTraceDto;
+import com.hpoalim.taskscheduler.jfr.ScheduleBatchEvent;
+import com.hpoalim.taskscheduler.jfr.StationSearchEvent;
+import com.hpoalim.taskscheduler.jfr.WorkOrderScheduledEvent;
 import com.hpoalim.taskscheduler.model.Operation;
+import com.hpoalim.taskscheduler.model.OrgCatalog;
 import com.hpoalim.taskscheduler.model.ScheduledTask;
 import com.hpoalim.taskscheduler.model.Station;
 import com.hpoalim.taskscheduler.model.WorkOrder;
@@ -15,6 +20,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Scheduler Service - supports scheduling tasks for different organizations ("org").
@@ -26,6 +33,16 @@ import java.util.*;
  * <p>The scheduler uses a naive forward-scheduling approach:
  * when a station is unavailable or there's not enough time in the current day,
  * it moves on to the next day and tries to schedule again.
+ *
+ * <p>Public methods hold the organization's {@link ReentrantLock}, since uploads and the admission
+ * queue's flusher thread may mutate the maps concurrently. All state is per organization, so a long
+ * scheduling pass only blocks its own organization, and the order in which {@link FairShareExecutor}
+ * dispatches jobs decides which organization makes progress. A lock rather than {@code synchronized}
+ * lets a virtual thread waiting for a scheduling pass unmount from its carrier.
+ *
+ * <p>Each batch, work order and station search emits a JFR event (see the
+ * {@code com.hpoalim.taskscheduler.jfr} package), which costs next to nothing while
+ * the events are disabled.
  */
 @Slf4j
 @Service
@@ -59,6 +76,17 @@ public class Scheduler {
      */
     private final Map<String, Map<String, Map<LocalDate, List<ScheduledTask>>>> scheduleMap;
 
+    /**
+     * A map of organization ID -> version of its stations and work order types,
+     * incremented on every change; readable without the organization's lock
+     */
+    private final Map<String, Long> catalogVersions;
+
+    /**
+     * A map of organization ID -> lock guarding the organization's entries in the maps above
+     */
+    private final Map<String, ReentrantLock> orgLocks;
+
     /**
      * Constructs the Scheduler with a daily start/end time.
      * The maps for stations, work order types, and scheduled tasks
@@ -74,9 +102,11 @@ public class Scheduler {
         this.WORK_DAY_START = LocalTime.parse(workDayStart);
         this.WORK_DAY_END   = LocalTime.parse(workDayEnd);
 
-        this.stationsMap = new HashMap<>();
-        this.WorkOrderTypeMap = new HashMap<>();
-        this.scheduleMap = new HashMap<>();
+        this.stationsMap = new ConcurrentHashMap<>();
+        this.WorkOrderTypeMap = new ConcurrentHashMap<>();
+        this.scheduleMap = new ConcurrentHashMap<>();
+        this.catalogVersions = new ConcurrentHashMap<>();
+        this.orgLocks = new ConcurrentHashMap<>();
     }
 
     /**
@@ -86,15 +116,21 @@ public class Scheduler {
      * @param stations   the list of stations to add
      */
     public void addStations(String customerId, List<Station> stations) {
-        if (customerId == null || customerId.isEmpty()) {
-            throw new IllegalArgumentException("customerId cannot be null or empty");
-        }
-        if (stations == null || stations.isEmpty()) {
-            throw new IllegalArgumentException("Stations list cannot be null or empty");
-        }
+        ReentrantLock lock = lockFor(customerId);
+        lock.lock();
+        try {
+            if (customerId == null || customerId.isEmpty()) {
+                throw new IllegalArgumentException("customerId cannot be null or empty");
+            }
+            if (stations == null || stations.isEmpty()) {
+                throw new IllegalArgumentException("Stations list cannot be null or empty");
+            }
 
-        for (Station station : stations) {
-            addStation(customerId, station);
+            for (Station station : stations) {
+                addStation(customerId, station);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -110,6 +146,7 @@ public class Scheduler {
         }
 
         String operation = station.getOperation();
+        catalogVersions.merge(org, 1L, Long::sum);
         stationsMap.computeIfAbsent(org, k -> new HashMap<>()).put(operation, station);
         scheduleMap.computeIfAbsent(org, k -> new HashMap<>()).put(operation, new HashMap<>());
     }
@@ -121,15 +158,21 @@ public class Scheduler {
      * @param workOrderTypes list of WorkOrderType objects
      */
     public void addWorkOrderTypes(String org, List<WorkOrderType> workOrderTypes) {
-        if (org == null || org.isEmpty()) {
-            throw new IllegalArgumentException("org cannot be null or empty");
-        }
-        if (workOrderTypes == null || workOrderTypes.isEmpty()) {
-            throw new IllegalArgumentException("WorkOrderTypes list cannot be null or empty");
-        }
+        ReentrantLock lock = lockFor(org);
+        lock.lock();
+        try {
+            if (org == null || org.isEmpty()) {
+                throw new IllegalArgumentException("org cannot be null or empty");
+            }
+            if (workOrderTypes == null || workOrderTypes.isEmpty()) {
+                throw new IllegalArgumentException("WorkOrderTypes list cannot be null or empty");
+            }
 
-        for (WorkOrderType workOrderType : workOrderTypes) {
-            addWorkOrderType(org, workOrderType);
+            for (WorkOrderType workOrderType : workOrderTypes) {
+                addWorkOrderType(org, workOrderType);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -140,20 +183,91 @@ public class Scheduler {
      * @param workOrderType the WorkOrderType to add
      */
     public void addWorkOrderType(String org, WorkOrderType workOrderType) {
-        if (org == null || org.isEmpty()) {
-            throw new IllegalArgumentException("org cannot be null or empty");
+        ReentrantLock lock = lockFor(org);
+        lock.lock();
+        try {
+            if (org == null || org.isEmpty()) {
+                throw new IllegalArgumentException("org cannot be null or empty");
+            }
+
+            catalogVersions.merge(org, 1L, Long::sum);
+            Map<String, List<Operation>> operationMap = WorkOrderTypeMap.computeIfAbsent(org, k -> new HashMap<>());
+            String name = workOrderType.getName();
+            List<Operation> operations = workOrderType.getOperations();
+
+            if (operations == null || operations.isEmpty()) {
+                operationMap.remove(org);
+                return;
+            }
+
+            operationMap.computeIfAbsent(name, k -> new ArrayList<>()).addAll(operations);
+        } finally {
+            lock.unlock();
         }
+    }
 
-        Map<String, List<Operation>> operationMap = WorkOrderTypeMap.computeIfAbsent(org, k -> new HashMap<>());
-        String name = workOrderType.getName();
-        List<Operation> operations = workOrderType.getOperations();
+    /**
+     * Replaces the stations and work order types of several organizations.
+     * The new maps are built before any lock is taken, and each organization's catalog is swapped
+     * in as a whole, so scheduling never sees a half-loaded catalog. Tasks already scheduled are kept.
+     *
+     * @param catalogs the complete, validated catalogs to register
+     */
+    public void replaceCatalogs(List<OrgCatalog> catalogs) {
+        List<Map<String, Station>> newStations = new ArrayList<>(catalogs.size());
+        List<Map<String, List<Operation>>> newTypes = new ArrayList<>(catalogs.size());
+        for (OrgCatalog catalog : catalogs) {
+            if (StringUtils.isEmpty(catalog.getOrg())) {
+                throw new IllegalArgumentException("org cannot be null or empty");
+            }
+            Map<String, Station> stations = new HashMap<>();
+            for (Station station : catalog.getStations()) {
+                stations.put(station.getOperation(), station);
+            }
+            Map<String, List<Operation>> types = new HashMap<>();
+            for (WorkOrderType type : catalog.getWorkOrderTypes()) {
+                types.put(type.getName(), new ArrayList<>(type.getOperations()));
+            }
+            newStations.add(stations);
+            newTypes.add(types);
+        }
 
-        if (operations == null || operations.isEmpty()) {
-            operationMap.remove(org);
-            return;
+        for (int i = 0; i < catalogs.size(); i++) {
+            String org = catalogs.get(i).getOrg();
+            ReentrantLock lock = lockFor(org);
+            lock.lock();
+            try {
+                stationsMap.put(org, newStations.get(i));
+                WorkOrderTypeMap.put(org, newTypes.get(i));
+                Map<String, Map<LocalDate, List<ScheduledTask>>> operationMap =
+                        scheduleMap.computeIfAbsent(org, k -> new HashMap<>());
+                newStations.get(i).keySet().forEach(operation -> operationMap.computeIfAbsent(operation, k -> new HashMap<>()));
+                catalogVersions.merge(org, 1L, Long::sum);
+            } finally {
+                lock.unlock();
+            }
         }
+    }
+
+    /**
+     * Returns the version of an organization's stations and work order types.
+     * The version changes whenever a station or work order type is added.
+     *
+     * @param org the organization ID
+     * @return the catalog version, 0 if nothing was registered for the organization
+     */
+    public long getCatalogVersion(String org) {
+        // Read without the org's lock, so a cache lookup never waits for a scheduling pass
+        return catalogVersions.getOrDefault(org, 0L);
+    }
 
-        operationMap.computeIfAbsent(name, k -> new ArrayList<>()).addAll(operations);
+    /**
+     * Returns the length of the work day; an operation that is not splittable must fit in it.
+     *
+     * @return the minutes between the work day start and end
+     */
+    public int getWorkDayMinutes() {
+        return (int) Duration.between(WORK_DAY_START, WORK_DAY_END).toMinutes();
     }
 
     /**
@@ -165,11 +279,66 @@ public class Scheduler {
      *   <li>If it cannot be placed on the same day, it moves to the next day (naive logic).</li>
      * </ol>
      *
+     * <p>If any work order cannot be scheduled (e.g. an operation has no station), an
+     * IllegalStateException is thrown before any task is placed.
+     *
      * @param org        the organization ID
      * @param workOrders the list of WorkOrders
      * @return a list of ScheduledTask objects representing the final schedule
      */
     public List<ScheduledTask> scheduleWorkOrders(String org, List<WorkOrder> workOrders) {
+        return scheduleWorkOrders(org, workOrders, null);
+    }
+
+    /**
+     * Schedules a list of WorkOrders, optionally recording the search cost of every work order.
+     *
+     * @param org        the organization ID
+     * @param workOrders the list of WorkOrders
+     * @param trace      receives one entry per scheduled work order, or null to skip tracing
+     * @return a list of ScheduledTask objects representing the final schedule
+     */
+    public List<ScheduledTask> scheduleWorkOrders(String org,
+                                                  List<WorkOrder> workOrders,
+                                                  List<WorkOrderTraceDto> trace) {
+        ReentrantLock lock = lockFor(org);
+        lock.lock();
+        try {
+            return scheduleBatch(org, workOrders, trace, null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Schedules the work orders that can be scheduled and skips the others, so that one invalid
+     * work order does not fail the rest of the batch. Each work order is scheduled completely or not at all.
+     *
+     * @param org        the organization ID
+     * @param workOrders the list of WorkOrders
+     * @param rejected   receives each skipped work order with the reason it cannot be scheduled
+     * @return the tasks of the scheduled work orders
+     */
+    public List<ScheduledTask> scheduleValidWorkOrders(String org,
+                                                       List<WorkOrder> workOrders,
+                                                       Map<WorkOrder, RuntimeException> rejected) {
+        ReentrantLock lock = lockFor(org);
+        lock.lock();
+        try {
+            return scheduleBatch(org, workOrders, null, rejected);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Schedules the batch. Invalid work orders are put into rejected, or fail the whole batch
+     * before any task is placed if rejected is null.
+     */
+    private List<ScheduledTask> scheduleBatch(String org,
+                                              List<WorkOrder> workOrders,
+                                              List<WorkOrderTraceDto> trace,
+                                              Map<WorkOrder, RuntimeException> rejected) {
         if (org == null || org.isEmpty()) {
             throw new IllegalArgumentException("org cannot be null or empty");
         }
@@ -177,7 +346,11 @@ public class Scheduler {
             throw new IllegalStateException("No stations defined for org=" + org);
         }
 
+        ScheduleBatchEvent batchEvent = new ScheduleBatchEvent();
+        batchEvent.begin();
+
         List<ScheduledTask> result = new ArrayList<>();
+        SearchCost cost = new SearchCost();
 
         // Sort WorkOrders by due date
         workOrders.sort(Comparator.comparing(WorkOrder::getDueDate));
@@ -189,7 +362,21 @@ public class Scheduler {
             throw new IllegalStateException("No operations defined for org=" + org);
         }
 
+        // Check every work order up front, so a failure never leaves a work order half scheduled
+        List<WorkOrder> schedulable = new ArrayList<>(workOrders.size());
         for (WorkOrder wo : workOrders) {
+            try {
+                checkSchedulable(org, orgOperationMap.get(wo.getType()), orgStationMap);
+                schedulable.add(wo);
+            } catch (IllegalStateException e) {
+                if (rejected == null) {
+                    throw e;
+                }
+                rejected.put(wo, e);
+            }
+        }
+
+        for (WorkOrder wo : schedulable) {
             // Earliest time to start the first operation: (for demonstration, "today" at WORK_DAY_START)
             LocalDateTime currentEarliestStart = LocalDate.now().atTime(WORK_DAY_START);
 
@@ -199,37 +386,94 @@ public class Scheduler {
                 continue;
             }
 
+            WorkOrderScheduledEvent workOrderEvent = new WorkOrderScheduledEvent();
+            workOrderEvent.begin();
+            long startNanos = trace != null ? System.nanoTime() : 0L;
+            cost.reset();
+
             // Schedule each operation in the order defined by the WorkOrderType
             for (Operation od : operations) {
                 currentEarliestStart = addOperationToSchedule(
-                        org, wo, od, orgStationMap, currentEarliestStart, result
+                        org, wo, od, orgStationMap, currentEarliestStart, result, cost
                 );
             }
+
+            workOrderEvent.end();
+            if (workOrderEvent.shouldCommit()) {
+                workOrderEvent.org = org;
+                workOrderEvent.workOrderId = wo.getId();
+                workOrderEvent.workOrderType = wo.getType();
+                workOrderEvent.operations = operations.size();
+                workOrderEvent.daysProbed = cost.daysProbed;
+                workOrderEvent.canFitCalls = cost.canFitCalls;
+                workOrderEvent.commit();
+            }
+            if (trace != null) {
+                trace.add(new WorkOrderTraceDto(wo.getId(), operations.size(), cost.daysProbed,
+                        cost.canFitCalls, (System.nanoTime() - startNanos) / 1_000));
+            }
+        }
+
+        batchEvent.end();
+        if (batchEvent.shouldCommit()) {
+            batchEvent.org = org;
+            batchEvent.workOrders = workOrders.size();
+            batchEvent.scheduledTasks = result.size();
+            batchEvent.commit();
         }
         return result;
     }
 
+    /**
+     * Checks that every operation has a station and, unless it is splittable, fits in one work day.
+     */
+    private void checkSchedulable(String org, List<Operation> operations, Map<String, Station> orgStationMap) {
+        if (operations == null) {
+            return;
+        }
+        int workDayMinutes = getWorkDayMinutes();
+        for (Operation operation : operations) {
+            String operationName = operation.getName();
+            if (!orgStationMap.containsKey(operationName)) {
+                log.warn("No station for operation: {} for org {}", operationName, org);
+                throw new IllegalStateException("No station for operation: " + operationName + " for org " + org);
+            }
+            int durationMinutes = (int) Math.ceil(operation.getDurationHours() * 60);
+            if (!operation.isSplittable() && durationMinutes > workDayMinutes) {
+                throw new IllegalStateException("Operation " + operationName + " takes " + durationMinutes
+                        + " minutes, longer than the work day; mark it splittable (org " + org + ")");
+            }
+        }
+    }
+
     /**
      * Helper method to schedule a single operation and return the updated earliest start time.
+     * The operation has passed {@link #checkSchedulable}.
      */
     private LocalDateTime addOperationToSchedule(String org,
                                                  WorkOrder workOrder,
                                                  Operation operation,
                                                  Map<String, Station> orgStationMap,
                                                  LocalDateTime currentEarliestStart,
-                                                 List<ScheduledTask> result) {
-
-        String operationName = operation.getName();
-        Station station = orgStationMap.get(operationName);
-        if (station == null) {
-            log.warn("No station for operation: {} for org {}", operationName, org);
-            throw new IllegalStateException("No station for operation: " + operationName + " for org " + org);
-        }
+                                                 List<ScheduledTask> result,
+                                                 SearchCost cost) {
 
+        Station station = orgStationMap.get(operation.getName());
         int durationMinutes = (int) Math.ceil(operation.getDurationHours() * 60);
 
+        if (operation.isSplittable()) {
+            // Spread the operation over the free windows of one or more days
+            List<ScheduledTask> segments = scheduleSplitTaskForStation(
+                    org, workOrder, station, currentEarliestStart, durationMinutes, cost);
+            for (ScheduledTask segment : segments) {
+                result.add(segment);
+                addToScheduleMap(org, segment);
+            }
+            return segments.get(segments.size() - 1).getEndTime();
+        }
+
         // Attempt to schedule the task for this station
-        ScheduledTask st = scheduleTaskForStation(org, workOrder, station, currentEarliestStart, durationMinutes);
+        ScheduledTask st = scheduleTaskForStation(org, workOrder, station, currentEarliestStart, durationMinutes, cost);
         result.add(st);
 
         // Add to the schedule map so we keep track of assigned tasks
@@ -243,18 +487,27 @@ public class Scheduler {
      * Attempts to schedule a task (an Operation in a WorkOrder) on a suitable station.
      * Starts from earliestStart, requiring durationMinutes of continuous time.
      * Returns a ScheduledTask if successful, otherwise throws an exception.
+     * The days probed and canFit calls of the search are added to cost.
      */
     private ScheduledTask scheduleTaskForStation(
             String customerId,
             WorkOrder wo,
             Station station,
             LocalDateTime earliestStart,
-            int durationMinutes
+            int durationMinutes,
+            SearchCost cost
     ) {
+        StationSearchEvent searchEvent = new StationSearchEvent();
+        searchEvent.begin();
+        int daysProbed = 0;
+        int canFitCalls = 0;
+
         LocalDate day  = earliestStart.toLocalDate();
         LocalTime time = earliestStart.toLocalTime();
 
         while (true) {
+            daysProbed++;
+
             // If time is before the workday start, align it
             if (time.isBefore(WORK_DAY_START)) {
                 time = WORK_DAY_START;
@@ -279,11 +532,13 @@ public class Scheduler {
             }
 
             // Check capacity on the station in the time range
+            canFitCalls++;
             if (canFit(customerId, station, day, time, durationMinutes)) {
                 // We can schedule
                 LocalDateTime start = LocalDateTime.of(day, time);
                 LocalDateTime end   = start.plusMinutes(durationMinutes);
 
+                recordSearch(searchEvent, customerId, wo, station, durationMinutes, daysProbed, canFitCalls, cost);
                 return new ScheduledTask(wo, station.getOperation(), station, start, end);
             } else {
                 // Not enough capacity; try the next day (naive approach)
@@ -293,6 +548,95 @@ public class Scheduler {
         }
     }
 
+    /**
+     * Schedules a splittable operation as one or more segments.
+     * Starting from earliestStart, each segment takes as many consecutive minutes as the station has
+     * free until the end of the work day; when the station is full, the search continues from the
+     * next moment a task on it ends, or from the next day.
+     * The days probed and canFit calls of the search are added to cost.
+     */
+    private List<ScheduledTask> scheduleSplitTaskForStation(
+            String customerId,
+            WorkOrder wo,
+            Station station,
+            LocalDateTime earliestStart,
+            int durationMinutes,
+            SearchCost cost
+    ) {
+        StationSearchEvent searchEvent = new StationSearchEvent();
+        searchEvent.begin();
+        int daysProbed = 0;
+        int canFitCalls = 0;
+
+        List<ScheduledTask> segments = new ArrayList<>();
+        int remaining = durationMinutes;
+        LocalDate day  = earliestStart.toLocalDate();
+        LocalTime time = earliestStart.toLocalTime();
+        LocalDate probedDay = null;
+
+        while (remaining > 0 || segments.isEmpty()) {
+            // A day may be probed several times (once per segment or release); count it once
+            if (!day.equals(probedDay)) {
+                daysProbed++;
+                probedDay = day;
+            }
+
+            if (time.isBefore(WORK_DAY_START)) {
+                time = WORK_DAY_START;
+            }
+            int minutesUntilDayEnd = time.isAfter(WORK_DAY_END) ? 0 : (int) Duration.between(time, WORK_DAY_END).toMinutes();
+            if (minutesUntilDayEnd == 0 && remaining > 0) {
+                day  = day.plusDays(1);
+                time = WORK_DAY_START;
+                continue;
+            }
+
+            canFitCalls++;
+            int free = freeMinutes(customerId, station, day, time, Math.min(remaining, minutesUntilDayEnd));
+            if (free > 0 || remaining == 0) {
+                LocalDateTime start = LocalDateTime.of(day, time);
+                segments.add(new ScheduledTask(wo, station.getOperation(), station, start, start.plusMinutes(free)));
+                remaining -= free;
+                time = time.plusMinutes(free);
+            } else {
+                // Station is full at this moment; continue when the first overlapping task ends
+                time = nextReleaseTime(customerId, station, day, time);
+            }
+        }
+
+        for (int i = 0; i < segments.size(); i++) {
+            segments.get(i).setSegment(i + 1);
+            segments.get(i).setSegmentCount(segments.size());
+        }
+        recordSearch(searchEvent, customerId, wo, station, durationMinutes, daysProbed, canFitCalls, cost);
+        return segments;
+    }
+
+    /**
+     * Adds the cost of a finished station search to the work order's total and commits its JFR event.
+     */
+    private void recordSearch(StationSearchEvent searchEvent,
+                              String org,
+                              WorkOrder wo,
+                              Station station,
+                              int durationMinutes,
+                              int daysProbed,
+                              int canFitCalls,
+                              SearchCost cost) {
+        cost.daysProbed += daysProbed;
+        cost.canFitCalls += canFitCalls;
+        searchEvent.end();
+        if (searchEvent.shouldCommit()) {
+            searchEvent.org = org;
+            searchEvent.workOrderId = wo.getId();
+            searchEvent.station = station.getName();
+            searchEvent.durationMinutes = durationMinutes;
+            searchEvent.daysProbed = daysProbed;
+            searchEvent.canFitCalls = canFitCalls;
+            searchEvent.commit();
+        }
+    }
+
     /**
      * Checks if a task can fit in the station's schedule (for a given org),
      * on a specific date and time range, without exceeding the station's capacity.
@@ -302,20 +646,24 @@ public class Scheduler {
                            LocalDate day,
                            LocalTime startTime,
                            int durationMinutes) {
+        return freeMinutes(org, station, day, startTime, durationMinutes) == durationMinutes;
+    }
 
-        // Retrieve all tasks already scheduled for this station on the given date
-        Map<String, Map<LocalDate, List<ScheduledTask>>> stationLevelMap = scheduleMap.get(org);
-        String operation = station.getOperation();
-        Map<LocalDate, List<ScheduledTask>> dayMap = stationLevelMap.get(operation);
-        if (dayMap == null) {
-            throw new IllegalStateException("No schedule for station: " + operation + " for org " + org);
-        }
-        List<ScheduledTask> tasks = dayMap.computeIfAbsent(day, d -> new ArrayList<>());
+    /**
+     * Counts how many consecutive minutes, starting at startTime and up to maxMinutes,
+     * the station has capacity for one more task (for a given org) on a specific date.
+     */
+    private int freeMinutes(String org,
+                            Station station,
+                            LocalDate day,
+                            LocalTime startTime,
+                            int maxMinutes) {
 
+        List<ScheduledTask> tasks = tasksOnDay(org, station, day);
         LocalDateTime start = LocalDateTime.of(day, startTime);
 
-        // Check each minute in [start, start + durationMinutes) for overlapping tasks
-        for (int m = 0; m < durationMinutes; m++) {
+        // Check each minute in [start, start + maxMinutes) for overlapping tasks
+        for (int m = 0; m < maxMinutes; m++) {
             LocalDateTime checkTime = start.plusMinutes(m);
             int overlapping = 0;
 
@@ -323,12 +671,41 @@ public class Scheduler {
                 if (isOverlapping(checkTime, t)) {
                     overlapping++;
                     if (overlapping >= station.getCapacity()) {
-                        return false;
+                        return m;
                     }
                 }
             }
         }
-        return true;
+        return maxMinutes;
+    }
+
+    /**
+     * Returns the earliest end time among the station's tasks that overlap the given moment,
+     * i.e. the next moment capacity may free up. Falls back to the end of the work day.
+     */
+    private LocalTime nextReleaseTime(String org, Station station, LocalDate day, LocalTime time) {
+        LocalDateTime checkTime = LocalDateTime.of(day, time);
+        LocalTime release = WORK_DAY_END;
+        for (ScheduledTask t : tasksOnDay(org, station, day)) {
+            if (isOverlapping(checkTime, t) && t.getEndTime().toLocalDate().equals(day)
+                    && t.getEndTime().toLocalTime().isBefore(release)) {
+                release = t.getEndTime().toLocalTime();
+            }
+        }
+        return release;
+    }
+
+    /**
+     * Retrieves all tasks already scheduled for this station on the given date.
+     */
+    private List<ScheduledTask> tasksOnDay(String org, Station station, LocalDate day) {
+        Map<String, Map<LocalDate, List<ScheduledTask>>> stationLevelMap = scheduleMap.get(org);
+        String operation = station.getOperation();
+        Map<LocalDate, List<ScheduledTask>> dayMap = stationLevelMap.get(operation);
+        if (dayMap == null) {
+            throw new IllegalStateException("No schedule for station: " + operation + " for org " + org);
+        }
+        return dayMap.computeIfAbsent(day, d -> new ArrayList<>());
     }
 
     /**
@@ -344,24 +721,66 @@ public class Scheduler {
      */
     private void addToScheduleMap(String customerId, ScheduledTask task) {
         Map<String, Map<LocalDate, List<ScheduledTask>>> stationLevelMap = scheduleMap.get(customerId);
-        stationLevelMap.putIfAbsent(task.getStation().getName(), new HashMap<>());
-
-        Map<LocalDate, List<ScheduledTask>> dayMap = stationLevelMap.get(task.getStation().getName());
+        // Keyed by operation, like stationsMap, so tasksOnDay sees the tasks when checking capacity
+        Map<LocalDate, List<ScheduledTask>> dayMap =
+                stationLevelMap.computeIfAbsent(task.getStation().getOperation(), k -> new HashMap<>());
         LocalDate day = task.getStartTime().toLocalDate();
 
         dayMap.computeIfAbsent(day, d -> new ArrayList<>()).add(task);
     }
 
+    /**
+     * Returns all tasks scheduled for a single organization.
+     *
+     * @param org the organization ID
+     * @return the organization's scheduled tasks, empty if it has none
+     */
+    public List<ScheduledTask> getScheduledTasks(String org) {
+        ReentrantLock lock = lockFor(org);
+        lock.lock();
+        try {
+            List<ScheduledTask> result = new ArrayList<>();
+            Map<String, Map<LocalDate, List<ScheduledTask>>> operationMap = scheduleMap.get(org);
+            if (operationMap != null) {
+                operationMap.forEach((operation, dayMap) -> dayMap.forEach((day, tasks) -> result.addAll(tasks)));
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
     public Map<String, List<ScheduledTask>> getScheduledTasks() {
         Map<String, List<ScheduledTask>> result = new HashMap<>();
-        scheduleMap.forEach((org, operationMap) -> {
-            operationMap.forEach((operation, dayMap) -> {
-                dayMap.forEach((day, tasks) -> {
-                    result.putIfAbsent(org, new ArrayList<>());
-                    result.get(org).addAll(tasks);
-                });
-            });
-        });
+        for (String org : scheduleMap.keySet()) {
+            List<ScheduledTask> tasks = getScheduledTasks(org);
+            if (!tasks.isEmpty()) {
+                result.put(org, tasks);
+            }
+        }
         return result;
     }
+
+    /**
+     * Returns the lock of an organization, creating it on first use.
+     */
+    private ReentrantLock lockFor(String org) {
+        if (StringUtils.isEmpty(org)) {
+            throw new IllegalArgumentException("org cannot be null or empty");
+        }
+        return orgLocks.computeIfAbsent(org, k -> new ReentrantLock());
+    }
+
+    /**
+     * Search cost accumulated over the operations of one work order.
+     */
+    private static final class SearchCost {
+        private int daysProbed;
+        private int canFitCalls;
+
+        private void reset() {
+            daysProbed = 0;
+            canFitCalls = 0;
+        }
+    }
 }
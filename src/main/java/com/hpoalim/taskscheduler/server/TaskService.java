@@ -1,31 +1,50 @@
 package com.hpoalim.taskscheduler.server;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.hpoalim.taskscheduler.api.FileParseStrategy;
+import com.hpoalim.taskscheduler.dto.response.CatalogImportResponse;
 import com.hpoalim.taskscheduler.dto.response.ScheduledTaskDto;
 import com.hpoalim.taskscheduler.dto.response.ScheduledTaskResponse;
+import com.hpoalim.taskscheduler.dto.response.ThrottlingResponse;
+import com.hpoalim.taskscheduler.dto.response.TracedScheduleResponse;
+import com.hpoalim.taskscheduler.dto.response.WorkOrderTraceDto;
 import com.hpoalim.taskscheduler.model.*;
 import com.hpoalim.taskscheduler.strategy.WorkOrderCsvStrategy;
+import com.hpoalim.taskscheduler.strategy.WorkOrderMappedCsvStrategy;
 import com.hpoalim.taskscheduler.util.FileUtil;
 import com.hpoalim.taskscheduler.util.JsonUtil;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
 @Service
 @AllArgsConstructor
 public class TaskService {
 
     private final Scheduler scheduler;
+    private final WorkOrderAdmissionQueue admissionQueue;
+    private final OrgQuotaManager quotaManager;
+    private final FairShareExecutor fairShareExecutor;
+    private final ScheduleExportService exportService;
+    private final WorkOrderMappedCsvStrategy mappedCsvStrategy;
+    private final ScheduleResultCache resultCache;
+    private final CatalogImportService catalogImportService;
 
     public void createOrgStations(MultipartFile file) {
         OrgStations orgStations = JsonUtil.parseJsonFile(file, new TypeReference<OrgStations>() {});
         String org = orgStations.getOrg();
         List<Station> stations = orgStations.getStations();
         scheduler.addStations(org, stations);
+        resultCache.invalidate(org);
     }
 
     public void createOrgWorkOrderTypes(MultipartFile file) {
@@ -33,13 +52,43 @@ public class TaskService {
         String org = orgWorkOrderTypes.getOrgName();
         List<WorkOrderType> workOrderTypes = orgWorkOrderTypes.getWorkOrderTypes();
         scheduler.addWorkOrderTypes(org, workOrderTypes);
+        resultCache.invalidate(org);
+    }
+
+    public CatalogImportResponse createCatalogs(MultipartFile file) {
+        return catalogImportService.importCatalogs(file);
     }
 
     public List<ScheduledTask> createWorkOrders(String org, MultipartFile file) {
-        WorkOrderCsvStrategy csvStrategy = new WorkOrderCsvStrategy();
-        List<WorkOrder> workOrders = new ArrayList<>();
-        FileUtil.parse(file, csvStrategy.getStrategy(), workOrders::add);
-        return scheduler.scheduleWorkOrders(org, workOrders);
+        // Reject an oversize upload before reading it to compute the hash
+        quotaManager.checkUploadSize(org, file.getSize());
+
+        // An identical upload against the same catalog returns the tasks it already produced
+        String contentHash = FileUtil.contentHash(file);
+        long catalogVersion = scheduler.getCatalogVersion(org);
+        return resultCache.getOrSchedule(org, contentHash, catalogVersion,
+                () -> runUploadJob(org, file, workOrders -> scheduler.scheduleWorkOrders(org, workOrders)));
+    }
+
+    public TracedScheduleResponse createWorkOrdersWithTrace(String org, MultipartFile file) {
+        return runUploadJob(org, file, workOrders -> {
+            List<WorkOrderTraceDto> trace = new ArrayList<>();
+            List<ScheduledTask> tasks = scheduler.scheduleWorkOrders(org, workOrders, trace);
+            return new TracedScheduleResponse(tasks, trace);
+        });
+    }
+
+    public CompletableFuture<List<ScheduledTask>> submitWorkOrder(String org, WorkOrder workOrder) {
+        quotaManager.consumeWorkOrders(org, 1);
+        return admissionQueue.submit(org, workOrder);
+    }
+
+    public Path exportSchedule(String org) {
+        return exportService.export(org);
+    }
+
+    public ThrottlingResponse getThrottling() {
+        return quotaManager.getThrottlingStats();
     }
 
     public ScheduledTaskResponse getSchedule() {
@@ -53,6 +102,8 @@ public class TaskService {
                 dto.setStation(task.getStation());
                 dto.setStartTime(task.getStartTime());
                 dto.setEndTime(task.getEndTime());
+                dto.setSegment(task.getSegment());
+                dto.setSegmentCount(task.getSegmentCount());
                 scheduledTasksDto.add(dto);
             }
             response.getScheduledTasks().put(org, scheduledTasksDto);
@@ -60,4 +111,49 @@ public class TaskService {
 
         return response;
     }
+
+    /**
+     * Admits an upload against the org's quota, then parses and schedules it on the shared workers,
+     * ordered by fair share.
+     */
+    private <T> T runUploadJob(String org, MultipartFile file, Function<List<WorkOrder>, T> schedule) {
+        quotaManager.acquireJob(org, file.getSize());
+        try {
+            Future<T> job = fairShareExecutor.submit(
+                    org, quotaManager.getWeight(org), file.getSize() / 1024, () -> {
+                        List<WorkOrder> workOrders = new ArrayList<>();
+                        FileUtil.parse(file, selectCsvStrategy(file), workOrders::add);
+                        quotaManager.chargeWorkOrders(org, workOrders.size());
+                        return schedule.apply(workOrders);
+                    });
+            return awaitJob(job);
+        } finally {
+            quotaManager.releaseJob(org);
+        }
+    }
+
+    /**
+     * Large uploads go through the parallel memory-mapped parser, small ones through OpenCSV.
+     */
+    private FileParseStrategy<WorkOrder> selectCsvStrategy(MultipartFile file) {
+        if (mappedCsvStrategy.isPreferredFor(file)) {
+            return mappedCsvStrategy.getStrategy();
+        }
+        return new WorkOrderCsvStrategy().getStrategy();
+    }
+
+    private static <T> T awaitJob(Future<T> job) {
+        try {
+            return job.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Scheduling job failed", e.getCause());
+        } catch (InterruptedException e) {
+            job.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for scheduling job", e);
+        }
+    }
 }
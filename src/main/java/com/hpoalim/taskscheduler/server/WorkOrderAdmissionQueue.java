@@ -0,0 +1,235 @@
+package com.hpoalim.taskscheduler.server;
+
+import com.hpoalim.taskscheduler.exception.QuotaExceededException;
+import com.hpoalim.taskscheduler.model.ScheduledTask;
+import com.hpoalim.taskscheduler.model.WorkOrder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission queue for work orders that arrive one at a time.
+ *
+ * <p>Submitted orders are collected per organization into micro-batches. A batch is flushed
+ * as soon as it reaches <strong>maxBatchSize</strong> orders, or <strong>maxDelayMillis</strong>
+ * after its first order was admitted, whichever comes first. Each batch is admitted as one job
+ * against the organization's concurrent jobs limit and runs on the {@link FairShareExecutor}
+ * workers shared with uploads. There it is handed to the {@link Scheduler} in a single call,
+ * so it is sorted by due date and scheduled in one pass.
+ *
+ * <p>Every caller receives a future that completes with the tasks scheduled for its own order,
+ * or exceptionally if that order cannot be scheduled; the other orders of the batch are unaffected.
+ */
+@Slf4j
+@Service
+public class WorkOrderAdmissionQueue {
+
+    private final Scheduler scheduler;
+
+    private final FairShareExecutor fairShareExecutor;
+
+    private final OrgQuotaManager quotaManager;
+
+    /**
+     * Maximum number of orders in a batch before it is flushed immediately.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * Maximum time an admitted order waits for its batch to be flushed.
+     */
+    private final long maxDelayMillis;
+
+    /**
+     * Single thread that times the batches and hands them to the shared workers.
+     */
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * A map of organization ID -> batch waiting for the next flush.
+     */
+    private final Map<String, Batch> pendingByOrg;
+
+    public WorkOrderAdmissionQueue(
+            Scheduler scheduler,
+            FairShareExecutor fairShareExecutor,
+            OrgQuotaManager quotaManager,
+            @Value("${scheduler.admission.maxBatchSize}") int maxBatchSize,
+            @Value("${scheduler.admission.maxDelayMillis}") long maxDelayMillis
+    ) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1");
+        }
+        this.scheduler = scheduler;
+        this.fairShareExecutor = fairShareExecutor;
+        this.quotaManager = quotaManager;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayMillis = maxDelayMillis;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "work-order-admission");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.pendingByOrg = new HashMap<>();
+    }
+
+    /**
+     * Admits a single work order into its organization's current batch.
+     *
+     * @param org       the organization ID
+     * @param workOrder the work order to schedule
+     * @return a future completed with the tasks scheduled for this work order
+     */
+    public CompletableFuture<List<ScheduledTask>> submit(String org, WorkOrder workOrder) {
+        if (StringUtils.isEmpty(org)) {
+            throw new IllegalArgumentException("org cannot be null or empty");
+        }
+        if (workOrder == null || workOrder.getDueDate() == null) {
+            throw new IllegalArgumentException("workOrder and its dueDate cannot be null");
+        }
+
+        CompletableFuture<List<ScheduledTask>> future = new CompletableFuture<>();
+        Batch batch;
+        boolean firstInBatch;
+        boolean batchFull;
+        synchronized (pendingByOrg) {
+            if (flusher.isShutdown()) {
+                throw new RejectedExecutionException("Work order admission queue is shut down");
+            }
+            batch = pendingByOrg.computeIfAbsent(org, k -> new Batch());
+            batch.orders.add(new PendingWorkOrder(workOrder, future));
+            firstInBatch = batch.orders.size() == 1;
+            batchFull = batch.orders.size() >= maxBatchSize;
+        }
+
+        try {
+            if (batchFull) {
+                flusher.execute(() -> flush(org, batch));
+            } else if (firstInBatch) {
+                batch.deadline = flusher.schedule(() -> flush(org, batch), maxDelayMillis, TimeUnit.MILLISECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            // Shut down after the order was added; drop the batch so no caller waits on it or joins it
+            boolean dropped;
+            synchronized (pendingByOrg) {
+                dropped = pendingByOrg.remove(org, batch);
+            }
+            if (dropped) {
+                fail(batch, e);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Takes a batch if it is still pending and queues it on the shared workers.
+     * A flush of a batch that was already taken by an earlier flush is a no-op, so a deadline
+     * never cuts the organization's next batch short.
+     */
+    private void flush(String org, Batch batch) {
+        synchronized (pendingByOrg) {
+            if (!pendingByOrg.remove(org, batch)) {
+                return;
+            }
+        }
+        ScheduledFuture<?> deadline = batch.deadline;
+        if (deadline != null) {
+            deadline.cancel(false);
+        }
+
+        try {
+            quotaManager.acquireBatchJob(org);
+        } catch (QuotaExceededException e) {
+            log.warn("Throttled batch of {} work orders for org {}: {}", batch.orders.size(), org, e.getMessage());
+            fail(batch, e);
+            return;
+        }
+        try {
+            fairShareExecutor.submit(org, quotaManager.getWeight(org), batch.orders.size(), () -> {
+                try {
+                    schedule(org, batch);
+                } finally {
+                    quotaManager.releaseJob(org);
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // The workers were shut down
+            quotaManager.releaseJob(org);
+            fail(batch, e);
+        }
+    }
+
+    /**
+     * Schedules a batch on a worker thread and completes the callers' futures.
+     */
+    private void schedule(String org, Batch batch) {
+        List<WorkOrder> workOrders = new ArrayList<>(batch.orders.size());
+        for (PendingWorkOrder pending : batch.orders) {
+            workOrders.add(pending.workOrder());
+        }
+
+        try {
+            // Tasks and rejections reference the submitted WorkOrder instances, so look them up by identity
+            Map<WorkOrder, RuntimeException> rejected = new IdentityHashMap<>();
+            List<ScheduledTask> tasks = scheduler.scheduleValidWorkOrders(org, workOrders, rejected);
+
+            Map<WorkOrder, List<ScheduledTask>> tasksByOrder = new IdentityHashMap<>();
+            for (ScheduledTask task : tasks) {
+                tasksByOrder.computeIfAbsent(task.getWorkOrder(), k -> new ArrayList<>()).add(task);
+            }
+            for (PendingWorkOrder pending : batch.orders) {
+                RuntimeException reason = rejected.get(pending.workOrder());
+                if (reason != null) {
+                    pending.future().completeExceptionally(reason);
+                } else {
+                    pending.future().complete(tasksByOrder.getOrDefault(pending.workOrder(), Collections.emptyList()));
+                }
+            }
+            if (!rejected.isEmpty()) {
+                log.warn("Rejected {} of {} work orders in batch for org {}", rejected.size(), batch.orders.size(), org);
+            }
+            log.debug("Flushed batch of {} work orders for org {}", batch.orders.size(), org);
+        } catch (RuntimeException e) {
+            // The batch failed as a whole. If the organization cannot be scheduled (e.g. it has no
+            // stations) nothing was placed; an unexpected failure mid-pass keeps the orders placed before it
+            log.error("Failed to schedule batch of {} work orders for org {}", batch.orders.size(), org, e);
+            fail(batch, e);
+        }
+    }
+
+    private static void fail(Batch batch, Throwable e) {
+        for (PendingWorkOrder pending : batch.orders) {
+            pending.future().completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Stops admitting work orders; batches already waiting for their deadline are still flushed.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+    }
+
+    private record PendingWorkOrder(WorkOrder workOrder, CompletableFuture<List<ScheduledTask>> future) {
+    }
+
+    /**
+     * Orders of one organization collected for a single flush, with the timer of its deadline flush.
+     */
+    private static final class Batch {
+        private final List<PendingWorkOrder> orders = new ArrayList<>();
+        private volatile ScheduledFuture<?> deadline;
+    }
+}
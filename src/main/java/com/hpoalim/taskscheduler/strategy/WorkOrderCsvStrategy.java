@@ -11,6 +11,7 @@ import org.springframework.stereotype.Component;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 
 import static com.hpoalim.taskscheduler.util.DateUtil.DATE_FORMATTER;
@@ -28,7 +29,7 @@ public class WorkOrderCsvStrategy {
 
     public FileParseStrategy<WorkOrder> getStrategy() {
         return (file, consumer) -> {
-            try (CSVReader reader = new CSVReader(new BufferedReader(new InputStreamReader(file.getInputStream())))) {
+            try (CSVReader reader = new CSVReader(new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)))) {
                 String[] line;
                 reader.readNext();
                 while ((line = reader.readNext()) != null) {
@@ -0,0 +1,417 @@
+package com.hpoalim.taskscheduler.strategy;
+
+import com.hpoalim.taskscheduler.api.FileParseStrategy;
+import com.hpoalim.taskscheduler.model.WorkOrder;
+import com.hpoalim.taskscheduler.util.DateUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hpoalim.taskscheduler.util.DateUtil.DATE_FORMATTER;
+
+/**
+ * This class provides a high-throughput strategy for parsing large work order CSV files.
+ *
+ * <p>The upload is spooled to a temporary file, which is split into line-aligned byte ranges.
+ * Each range is memory-mapped and parsed on a dedicated pool of <strong>parallelism</strong>
+ * threads, shared by all uploads, so parsing never occupies more threads than that however many
+ * uploads arrive at once. Ranges are parsed by a hand-rolled parser specialised for the
+ * {@code id,type,dueDate} layout: it allocates only the id string of each row, interns type names
+ * and reads {@code dd/MM/yyyy} dates straight from the bytes. Work orders are handed to the
+ * consumer in file order.
+ *
+ * <p>Rows are interpreted like {@link WorkOrderCsvStrategy} does: columns after the third are
+ * ignored, dates that are not plain calendar dates (e.g. {@code 31/04/2025}) are resolved by
+ * {@link DateUtil#DATE_FORMATTER}, and a blank line is an error. Fields may be wrapped in double
+ * quotes, but quoted fields cannot contain commas, quotes or line breaks; use
+ * {@link WorkOrderCsvStrategy} for general CSV.
+ */
+@Slf4j
+@Component
+public class WorkOrderMappedCsvStrategy {
+
+    /**
+     * Largest range mapped at once; a single mapping cannot exceed 2GB.
+     */
+    private static final long MAX_RANGE_BYTES = 1L << 30;
+
+    /**
+     * Smallest range worth handing to its own thread.
+     */
+    private static final long MIN_RANGE_BYTES = 1L << 20;
+
+    private final long minFileBytes;
+    private final int parallelism;
+
+    /**
+     * Threads that parse the ranges of all uploads.
+     */
+    private final ExecutorService parsers;
+
+    public WorkOrderMappedCsvStrategy(
+            @Value("${scheduler.csv.mapped.minFileBytes}") long minFileBytes,
+            @Value("${scheduler.csv.mapped.parallelism:0}") int parallelism
+    ) {
+        this.minFileBytes = minFileBytes;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.parsers = Executors.newFixedThreadPool(this.parallelism, r -> {
+            Thread thread = new Thread(r, "csv-parser-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Whether the file is large enough for this strategy to beat {@link WorkOrderCsvStrategy}.
+     */
+    public boolean isPreferredFor(MultipartFile file) {
+        return file.getSize() >= minFileBytes;
+    }
+
+    public FileParseStrategy<WorkOrder> getStrategy() {
+        return (file, consumer) -> {
+            Path spool = Files.createTempFile("work-orders", ".csv");
+            try {
+                file.transferTo(spool);
+                for (List<WorkOrder> range : parseFile(spool)) {
+                    range.forEach(consumer);
+                }
+            } finally {
+                Files.deleteIfExists(spool);
+            }
+        };
+    }
+
+    /**
+     * Parses a work order CSV file (with a header line) into one list of work orders per range.
+     */
+    List<List<WorkOrder>> parseFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long dataStart = nextLineStart(channel, 0, size);
+            long[] bounds = splitRanges(channel, dataStart, size);
+            Map<String, String> typeNames = new ConcurrentHashMap<>();
+
+            List<Callable<List<WorkOrder>>> jobs = new ArrayList<>(bounds.length - 1);
+            for (int i = 0; i < bounds.length - 1; i++) {
+                long start = bounds[i];
+                long end = bounds[i + 1];
+                jobs.add(() -> {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                    return new RangeParser(buffer, start, typeNames).parse();
+                });
+            }
+
+            List<List<WorkOrder>> ranges = new ArrayList<>(jobs.size());
+            try {
+                for (Future<List<WorkOrder>> range : parsers.invokeAll(jobs)) {
+                    ranges.add(range.get());
+                }
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IOException("Failed to parse CSV range of " + path, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while parsing " + path, e);
+            }
+            log.debug("Parsed {} bytes of work orders in {} ranges", size, ranges.size());
+            return ranges;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        parsers.shutdown();
+    }
+
+    /**
+     * Splits [start, size) into ranges that each begin at the start of a line.
+     */
+    private long[] splitRanges(FileChannel channel, long start, long size) throws IOException {
+        long length = size - start;
+        int count = (int) Math.max(1, Math.min(parallelism, length / MIN_RANGE_BYTES));
+        count = (int) Math.max(count, (length + MAX_RANGE_BYTES - 1) / MAX_RANGE_BYTES);
+
+        long[] bounds = new long[count + 1];
+        bounds[0] = start;
+        for (int i = 1; i < count; i++) {
+            long target = Math.max(bounds[i - 1], start + length / count * i);
+            bounds[i] = nextLineStart(channel, target, size);
+        }
+        bounds[count] = size;
+        return bounds;
+    }
+
+    /**
+     * Returns the position right after the first line break at or after position, or size if there is none.
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(8192);
+        while (position < size) {
+            chunk.clear();
+            int read = channel.read(chunk, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (chunk.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * Parses the rows of a single mapped range. Not thread safe; one instance per range.
+     */
+    private static final class RangeParser {
+        private final ByteBuffer buffer;
+        private final long fileOffset;
+        private final Map<String, String> typeNames;
+
+        private final byte[] scratch = new byte[256];
+        private final TypeCache typeCache = new TypeCache();
+
+        private int lastDateKey = -1;
+        private LocalDate lastDate;
+
+        private RangeParser(ByteBuffer buffer, long fileOffset, Map<String, String> typeNames) {
+            this.buffer = buffer;
+            this.fileOffset = fileOffset;
+            this.typeNames = typeNames;
+        }
+
+        private List<WorkOrder> parse() {
+            List<WorkOrder> workOrders = new ArrayList<>();
+            int limit = buffer.limit();
+            int pos = 0;
+            while (pos < limit) {
+                int lineEnd = pos;
+                while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                int contentEnd = lineEnd > pos && buffer.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+                workOrders.add(parseLine(pos, contentEnd));
+                pos = lineEnd + 1;
+            }
+            return workOrders;
+        }
+
+        private WorkOrder parseLine(int start, int end) {
+            int idEnd = indexOf(',', start, end);
+            int typeEnd = idEnd < 0 ? -1 : indexOf(',', idEnd + 1, end);
+            if (typeEnd < 0) {
+                throw malformed(start, "expected 3 fields");
+            }
+            // Further columns are ignored
+            int dateEnd = indexOf(',', typeEnd + 1, end);
+            return WorkOrder.builder()
+                    .id(readString(start, idEnd))
+                    .type(readType(idEnd + 1, typeEnd))
+                    .dueDate(readDate(typeEnd + 1, dateEnd < 0 ? end : dateEnd))
+                    .build();
+        }
+
+        private String readString(int start, int end) {
+            if (end - start >= 2 && buffer.get(start) == '"' && buffer.get(end - 1) == '"') {
+                start++;
+                end--;
+            }
+            return decode(start, end);
+        }
+
+        private String decode(int start, int end) {
+            int length = end - start;
+            byte[] bytes = length <= scratch.length ? scratch : new byte[length];
+            buffer.get(start, bytes, 0, length);
+            return new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private String readType(int start, int end) {
+            if (end - start >= 2 && buffer.get(start) == '"' && buffer.get(end - 1) == '"') {
+                start++;
+                end--;
+            }
+            String cached = typeCache.get(buffer, start, end);
+            if (cached == null) {
+                String name = readString(start, end);
+                cached = typeNames.computeIfAbsent(name, n -> n);
+                typeCache.put(buffer, start, end, cached);
+            }
+            return cached;
+        }
+
+        /**
+         * Reads a dd/MM/yyyy date, reusing the previous LocalDate when consecutive rows share a due date.
+         * Anything but a plain calendar date is left to {@link DateUtil#DATE_FORMATTER}, which resolves
+         * or rejects it exactly like the OpenCSV strategy.
+         */
+        private LocalDate readDate(int start, int end) {
+            if (end - start >= 2 && buffer.get(start) == '"' && buffer.get(end - 1) == '"') {
+                start++;
+                end--;
+            }
+            int key = -1;
+            if (end - start == 10 && buffer.get(start + 2) == '/' && buffer.get(start + 5) == '/') {
+                int day = digits(start, 2);
+                int month = digits(start + 3, 2);
+                int year = digits(start + 6, 4);
+                if (day >= 0 && month >= 0 && year >= 1) {
+                    key = year * 10_000 + month * 100 + day;
+                    if (key == lastDateKey) {
+                        return lastDate;
+                    }
+                    try {
+                        return cacheDate(key, LocalDate.of(year, month, day));
+                    } catch (DateTimeException e) {
+                        // e.g. 31/04, which the formatter resolves to the last day of the month
+                    }
+                }
+            }
+            LocalDate date = LocalDate.parse(decode(start, end), DATE_FORMATTER);
+            return key < 0 ? date : cacheDate(key, date);
+        }
+
+        private LocalDate cacheDate(int key, LocalDate date) {
+            lastDateKey = key;
+            lastDate = date;
+            return date;
+        }
+
+        /**
+         * Reads count decimal digits, or returns -1 if any byte is not a digit.
+         */
+        private int digits(int start, int count) {
+            int value = 0;
+            for (int i = start; i < start + count; i++) {
+                int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return -1;
+                }
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+
+        private int indexOf(char c, int start, int end) {
+            for (int i = start; i < end; i++) {
+                if (buffer.get(i) == c) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private IllegalArgumentException malformed(int position, String reason) {
+            return new IllegalArgumentException("Malformed work order CSV at byte " + (fileOffset + position) + ": " + reason);
+        }
+    }
+
+    /**
+     * Small open-addressing map from type name bytes to the interned type name.
+     */
+    private static final class TypeCache {
+        private static final int MAX_SIZE = 1024;
+
+        private byte[][] keys = new byte[16][];
+        private String[] values = new String[16];
+        private int size;
+
+        private String get(ByteBuffer buffer, int start, int end) {
+            int mask = keys.length - 1;
+            for (int slot = hash(buffer, start, end) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+                if (matches(keys[slot], buffer, start, end)) {
+                    return values[slot];
+                }
+            }
+            return null;
+        }
+
+        private void put(ByteBuffer buffer, int start, int end, String value) {
+            if (size >= MAX_SIZE) {
+                return;
+            }
+            if (2 * (size + 1) > keys.length) {
+                resize();
+            }
+            byte[] key = new byte[end - start];
+            buffer.get(start, key);
+            insert(key, hash(key), value);
+            size++;
+        }
+
+        private void resize() {
+            byte[][] oldKeys = keys;
+            String[] oldValues = values;
+            keys = new byte[oldKeys.length * 2][];
+            values = new String[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    insert(oldKeys[i], hash(oldKeys[i]), oldValues[i]);
+                }
+            }
+        }
+
+        private void insert(byte[] key, int hash, String value) {
+            int mask = keys.length - 1;
+            int slot = hash & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        private static int hash(ByteBuffer buffer, int start, int end) {
+            int h = 1;
+            for (int i = start; i < end; i++) {
+                h = 31 * h + buffer.get(i);
+            }
+            return h ^ (h >>> 16);
+        }
+
+        private static int hash(byte[] key) {
+            return hash(ByteBuffer.wrap(key), 0, key.length);
+        }
+
+        private static boolean matches(byte[] key, ByteBuffer buffer, int start, int end) {
+            if (key.length != end - start) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (key[i] != buffer.get(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
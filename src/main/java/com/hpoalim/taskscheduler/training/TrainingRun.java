@@ -0,0 +1,88 @@
+package com.hpoalim.taskscheduler.training;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Training run used to build the class data sharing archive (see the {@code cds} Maven profile).
+ *
+ * <p>When <strong>scheduler.training.enabled</strong> is true, the application calls every
+ * {@code TaskController} endpoint over HTTP with the sample files under {@code training/}
+ * once it is ready, and then exits. This loads the Jackson, OpenCSV, multipart and export
+ * classes that a real first request needs, so they end up in the archive.
+ *
+ * <p>The flag is read at runtime rather than through a condition, because conditions are
+ * fixed at build time under Spring AOT.
+ */
+@Slf4j
+@Component
+public class TrainingRun {
+
+    private static final String ORG = "training";
+
+    private final boolean enabled;
+
+    public TrainingRun(@Value("${scheduler.training.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (!enabled) {
+            return;
+        }
+        int port = ((WebServerApplicationContext) event.getApplicationContext()).getWebServer().getPort();
+        RestClient client = RestClient.create("http://localhost:" + port + "/api");
+
+        int exitCode = 0;
+        try {
+            exercise(client);
+            log.info("Training run completed");
+        } catch (Exception e) {
+            log.error("Training run failed", e);
+            exitCode = 1;
+        }
+        int finalExitCode = exitCode;
+        System.exit(SpringApplication.exit(event.getApplicationContext(), () -> finalExitCode));
+    }
+
+    private void exercise(RestClient client) {
+        upload(client, "/createStation", "training/stations.json");
+        upload(client, "/createWorkOrderTypes", "training/work_order_types.json");
+        upload(client, "/createCatalogs", "training/catalogs.ndjson");
+        upload(client, "/uploadWorkOrder/" + ORG, "training/work_orders.csv");
+        upload(client, "/uploadWorkOrder/" + ORG + "?trace=true", "training/work_orders.csv");
+
+        client.post()
+                .uri("/submitWorkOrder/" + ORG)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"id\":\"submitted\",\"type\":\"type1\",\"dueDate\":\"2025-04-01\"}")
+                .retrieve()
+                .toBodilessEntity();
+
+        client.get().uri("/schedule").retrieve().toBodilessEntity();
+        client.get().uri("/schedule/" + ORG + "/export").retrieve().toBodilessEntity();
+        client.get().uri("/throttling").retrieve().toBodilessEntity();
+    }
+
+    private void upload(RestClient client, String uri, String resource) {
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("file", new ClassPathResource(resource));
+        client.post()
+                .uri(uri)
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(body)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -5,6 +5,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.function.Consumer;
 
 @Slf4j
@@ -19,6 +25,21 @@ public class FileUtil {
         }
     }
 
+    /**
+     * Returns the SHA-256 hash of the file's content as a hex string.
+     */
+    public static String contentHash(MultipartFile file) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to hash file: " + file.getOriginalFilename(), e);
+        }
+    }
+
     private static <T> void validateParserInput(MultipartFile file, FileParseStrategy<T> strategy, Consumer<T> consumer) {
         if (file == null || file.isEmpty()) {
             String error = "MultipartFile is empty or null, skipping parsing.";
@@ -1,11 +1,14 @@
 package com.hpoalim.taskscheduler.util;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.function.Consumer;
 
 public class JsonUtil {
 
@@ -22,4 +25,32 @@ public class JsonUtil {
             throw new RuntimeException("Failed to parse JSON file: " + file.getOriginalFilename(), e);
         }
     }
+
+    /**
+     * Reads a JSON array of objects, or a stream of whitespace/newline separated objects (NDJSON),
+     * binding and handing over one object at a time instead of the whole document.
+     */
+    public static <T> void streamJsonValues(MultipartFile file, Class<T> type, Consumer<T> consumer) {
+        if (file == null || file.isEmpty()) {
+            String error = "MultipartFile is empty or null, skipping parsing.";
+            throw new RuntimeException(error);
+        }
+        try (InputStream inputStream = file.getInputStream();
+             JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token == JsonToken.START_OBJECT) {
+                consumer.accept(objectMapper.readValue(parser, type));
+                token = parser.nextToken();
+            }
+            if (array ? token != JsonToken.END_ARRAY : token != null) {
+                throw new RuntimeException("Unexpected " + token + " in JSON file: " + file.getOriginalFilename());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to parse JSON file: " + file.getOriginalFilename(), e);
+        }
+    }
 }
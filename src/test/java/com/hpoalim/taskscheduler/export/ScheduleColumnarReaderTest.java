@@ -0,0 +1,94 @@
+package com.hpoalim.taskscheduler.export;
+
+import com.hpoalim.taskscheduler.model.ScheduledTask;
+import com.hpoalim.taskscheduler.model.Station;
+import com.hpoalim.taskscheduler.model.WorkOrder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScheduleColumnarReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackWhatWasWritten() throws IOException {
+        Station cutting = new Station("CuttingStation", "Cutting", 2);
+        Station oven = new Station("Oven", "Cure", 3);
+        WorkOrder first = WorkOrder.builder().id("wo1").type("type1").dueDate(LocalDate.of(2025, 4, 2)).build();
+        WorkOrder second = WorkOrder.builder().id("wö2").type("type2").dueDate(LocalDate.of(2025, 4, 3)).build();
+        LocalDateTime start = LocalDateTime.of(2025, 4, 1, 7, 0);
+        List<ScheduledTask> tasks = List.of(
+                new ScheduledTask(first, "Cutting", cutting, start, start.plusHours(2)),
+                new ScheduledTask(second, "Cutting", cutting, start, start.plusHours(1)),
+                new ScheduledTask(second, "Cure", oven, start.plusHours(1), start.plusHours(5), 1, 2),
+                new ScheduledTask(second, "Cure", oven, start.plusDays(1), start.plusDays(1).plusHours(3), 2, 2));
+        Path file = directory.resolve("org.tscf");
+
+        ScheduleColumnarWriter.write("org", tasks, file);
+
+        try (ScheduleColumnarReader reader = ScheduleColumnarReader.open(file)) {
+            assertThat(reader.getOrg()).isEqualTo("org");
+            assertThat(reader.getRowCount()).isEqualTo(4);
+            ScheduleColumnarReader.StringColumn ids = reader.stringColumn(ColumnarFormat.WORK_ORDER_ID);
+            ScheduleColumnarReader.StringColumn stations = reader.stringColumn(ColumnarFormat.STATION);
+            ScheduleColumnarReader.IntColumn dueDates = reader.intColumn(ColumnarFormat.DUE_DATE);
+            ScheduleColumnarReader.LongColumn starts = reader.longColumn(ColumnarFormat.START_TIME);
+            ScheduleColumnarReader.LongColumn ends = reader.longColumn(ColumnarFormat.END_TIME);
+            ScheduleColumnarReader.IntColumn segments = reader.intColumn(ColumnarFormat.SEGMENT);
+            ScheduleColumnarReader.IntColumn segmentCounts = reader.intColumn(ColumnarFormat.SEGMENT_COUNT);
+            for (int row = 0; row < tasks.size(); row++) {
+                ScheduledTask task = tasks.get(row);
+                assertThat(ids.get(row)).isEqualTo(task.getWorkOrder().getId());
+                assertThat(stations.get(row)).isEqualTo(task.getStation().getName());
+                assertThat(dueDates.get(row)).isEqualTo(task.getWorkOrder().getDueDate().toEpochDay());
+                assertThat(starts.get(row)).isEqualTo(task.getStartTime().toEpochSecond(ZoneOffset.UTC));
+                assertThat(ends.get(row)).isEqualTo(task.getEndTime().toEpochSecond(ZoneOffset.UTC));
+                assertThat(segments.get(row)).isEqualTo(task.getSegment());
+                assertThat(segmentCounts.get(row)).isEqualTo(task.getSegmentCount());
+            }
+            assertThat(stations.isDictionaryEncoded()).isTrue();
+            assertThat(stations.dictionary()).containsExactly("CuttingStation", "Oven");
+        }
+    }
+
+    @Test
+    void rejectsColumnBeyondEndOfFile() throws IOException {
+        Path file = directory.resolve("org.tscf");
+        ScheduleColumnarWriter.write("org", List.of(), file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 4);
+        }
+
+        assertThatThrownBy(() -> ScheduleColumnarReader.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("does not fit");
+    }
+
+    @Test
+    void rejectsTruncatedHeader() throws IOException {
+        Path file = directory.resolve("org.tscf");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(12).order(ColumnarFormat.BYTE_ORDER);
+            header.putInt(ColumnarFormat.MAGIC).putInt(ColumnarFormat.VERSION).putInt(0).flip();
+            channel.write(header);
+        }
+
+        assertThatThrownBy(() -> ScheduleColumnarReader.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Truncated");
+    }
+}
@@ -0,0 +1,53 @@
+package com.hpoalim.taskscheduler.server;
+
+import com.hpoalim.taskscheduler.dto.response.CatalogImportResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogImportServiceTest {
+
+    private final Scheduler scheduler = new Scheduler("07:00", "16:00");
+    private final CatalogImportService service = new CatalogImportService(scheduler, new ScheduleResultCache(10), 1);
+
+    @Test
+    void malformedStreamRegistersValidatedCatalogsAndReportsError() {
+        CatalogImportService batching = new CatalogImportService(scheduler, new ScheduleResultCache(10), 10);
+
+        CatalogImportResponse response = batching.importCatalogs(file(
+                catalog("orgA", 2, false) + "\n" + catalog("orgB", 2, false) + "\n" + "{\"org\": \"orgC\", \"stations\": [\n"));
+
+        assertThat(response.getRegisteredOrgs()).isEqualTo(2);
+        assertThat(response.getError()).isNotBlank();
+        assertThat(scheduler.getCatalogVersion("orgA")).isPositive();
+        assertThat(scheduler.getCatalogVersion("orgB")).isPositive();
+        assertThat(scheduler.getCatalogVersion("orgC")).isZero();
+    }
+
+    @Test
+    void rejectsUnsplittableOperationLongerThanWorkDay() {
+        CatalogImportResponse response = service.importCatalogs(file(
+                catalog("orgA", 10, false) + "\n" + catalog("orgB", 10, true)));
+
+        assertThat(response.getRegisteredOrgs()).isEqualTo(1);
+        assertThat(response.getRejected()).singleElement().asString()
+                .startsWith("orgA: ")
+                .contains("longer than the work day");
+        assertThat(response.getError()).isNull();
+        assertThat(scheduler.getCatalogVersion("orgA")).isZero();
+    }
+
+    private static String catalog(String org, double durationHours, boolean splittable) {
+        return "{\"org\": \"" + org + "\", \"stations\": [{\"name\": \"Oven\", \"operation\": \"Cure\", \"capacity\": 1}], "
+                + "\"workOrderTypes\": [{\"name\": \"type1\", \"operations\": [{\"operation\": \"Cure\", "
+                + "\"durationHours\": " + durationHours + ", \"splittable\": " + splittable + "}]}]}";
+    }
+
+    private static MockMultipartFile file(String content) {
+        return new MockMultipartFile("file", "catalogs.ndjson", "application/x-ndjson",
+                content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,49 @@
+package com.hpoalim.taskscheduler.server;
+
+import com.hpoalim.taskscheduler.config.QuotaProperties;
+import com.hpoalim.taskscheduler.config.QuotaProperties.OrgQuota;
+import com.hpoalim.taskscheduler.exception.QuotaExceededException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrgQuotaManagerTest {
+
+    private static final String ORG = "org";
+
+    private final OrgQuotaManager quotaManager = new OrgQuotaManager(quotas(new OrgQuota(2, 100, 1000L, 1)));
+
+    @Test
+    void uploadLargerThanRateIsAdmittedOnceThenThrottled() {
+        quotaManager.acquireJob(ORG, 500);
+        quotaManager.chargeWorkOrders(ORG, 1_000);
+        quotaManager.releaseJob(ORG);
+
+        assertThatThrownBy(() -> quotaManager.acquireJob(ORG, 500))
+                .isInstanceOf(QuotaExceededException.class)
+                .hasMessageContaining("rate");
+        assertThatThrownBy(() -> quotaManager.consumeWorkOrders(ORG, 1))
+                .isInstanceOf(QuotaExceededException.class);
+        assertThat(quotaManager.getThrottlingStats().getOrgs().get(ORG).getThrottledWorkOrderRate()).isEqualTo(2);
+    }
+
+    @Test
+    void oversizeUploadIsRejectedBeforeTakingAJob() {
+        assertThatThrownBy(() -> quotaManager.acquireJob(ORG, 1001))
+                .isInstanceOf(QuotaExceededException.class)
+                .hasMessageContaining("bytes");
+
+        quotaManager.acquireJob(ORG, 1000);
+        quotaManager.acquireJob(ORG, 1000);
+        assertThatThrownBy(() -> quotaManager.acquireJob(ORG, 1000))
+                .isInstanceOf(QuotaExceededException.class)
+                .hasMessageContaining("concurrent");
+    }
+
+    private static QuotaProperties quotas(OrgQuota defaults) {
+        QuotaProperties properties = new QuotaProperties();
+        properties.setDefaults(defaults);
+        return properties;
+    }
+}
@@ -0,0 +1,118 @@
+package com.hpoalim.taskscheduler.server;
+
+import com.hpoalim.taskscheduler.model.ScheduledTask;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScheduleResultCacheTest {
+
+    private final ScheduleResultCache cache = new ScheduleResultCache(2);
+    private final AtomicInteger schedules = new AtomicInteger();
+
+    @Test
+    void repeatedUploadIsScheduledOnce() {
+        List<ScheduledTask> first = cache.getOrSchedule("org", "hash", 1, schedule());
+        List<ScheduledTask> second = cache.getOrSchedule("org", "hash", 1, schedule());
+
+        assertThat(second).isSameAs(first);
+        assertThat(schedules).hasValue(1);
+    }
+
+    @Test
+    void newCatalogVersionOrOtherOrgMisses() {
+        cache.getOrSchedule("org", "hash", 1, schedule());
+        cache.getOrSchedule("org", "hash", 2, schedule());
+        cache.getOrSchedule("other", "hash", 1, schedule());
+
+        assertThat(schedules).hasValue(3);
+    }
+
+    @Test
+    void invalidateDropsOnlyThatOrg() {
+        cache.getOrSchedule("org", "hash", 1, schedule());
+        cache.getOrSchedule("other", "hash", 1, schedule());
+
+        cache.invalidate("org");
+        cache.getOrSchedule("org", "hash", 1, schedule());
+        cache.getOrSchedule("other", "hash", 1, schedule());
+
+        assertThat(schedules).hasValue(3);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        cache.getOrSchedule("org", "a", 1, schedule());
+        cache.getOrSchedule("org", "b", 1, schedule());
+        cache.getOrSchedule("org", "a", 1, schedule());
+        cache.getOrSchedule("org", "c", 1, schedule());
+        assertThat(schedules).hasValue(3);
+
+        // b was evicted, a is still cached
+        cache.getOrSchedule("org", "a", 1, schedule());
+        assertThat(schedules).hasValue(3);
+        cache.getOrSchedule("org", "b", 1, schedule());
+        assertThat(schedules).hasValue(4);
+    }
+
+    @Test
+    void failedUploadIsNotCached() {
+        assertThatThrownBy(() -> cache.getOrSchedule("org", "hash", 1, () -> {
+            throw new IllegalStateException("No stations defined");
+        })).isInstanceOf(IllegalStateException.class);
+
+        cache.getOrSchedule("org", "hash", 1, schedule());
+        assertThat(schedules).hasValue(1);
+    }
+
+    @Test
+    void errorInOwnerDoesNotBlockLaterCallers() throws Exception {
+        CountDownLatch scheduling = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<ScheduledTask>> owner = executor.submit(() -> cache.getOrSchedule("org", "hash", 1, () -> {
+                scheduling.countDown();
+                try {
+                    fail.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new StackOverflowError();
+            }));
+            scheduling.await();
+
+            // Whether it joins the failing entry or arrives after it is gone, the caller must not hang
+            Future<List<ScheduledTask>> waiter = executor.submit(() -> cache.getOrSchedule("org", "hash", 1, schedule()));
+            fail.countDown();
+
+            assertThatThrownBy(() -> owner.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+            try {
+                waiter.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                assertThat(e).hasRootCauseInstanceOf(StackOverflowError.class);
+            }
+            assertThat(cache.getOrSchedule("org", "hash", 1, schedule())).hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Supplier<List<ScheduledTask>> schedule() {
+        return () -> {
+            schedules.incrementAndGet();
+            return List.of(new ScheduledTask());
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.hpoalim.taskscheduler.server;
+
+import com.hpoalim.taskscheduler.model.Operation;
+import com.hpoalim.taskscheduler.model.WorkOrder;
+import com.hpoalim.taskscheduler.model.WorkOrderType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Builders for the catalogs and work orders used by the scheduler tests.
+ */
+final class SchedulerFixtures {
+
+    private SchedulerFixtures() {
+    }
+
+    static WorkOrder workOrder(String id, String type) {
+        return WorkOrder.builder().id(id).type(type).dueDate(LocalDate.of(2025, 4, 1)).build();
+    }
+
+    static WorkOrderType workOrderType(String name, Operation... operations) {
+        WorkOrderType type = new WorkOrderType();
+        type.setName(name);
+        type.setOperations(List.of(operations));
+        return type;
+    }
+
+    static Operation operation(String name, double durationHours) {
+        Operation operation = new Operation();
+        operation.setName(name);
+        operation.setDurationHours(durationHours);
+        return operation;
+    }
+
+    static Operation splittableOperation(String name, double durationHours) {
+        Operation operation = operation(name, durationHours);
+        operation.setSplittable(true);
+        return operation;
+    }
+}
@@ -0,0 +1,135 @@
+package com.hpoalim.taskscheduler.server;
+
+import com.hpoalim.taskscheduler.dto.response.WorkOrderTraceDto;
+import com.hpoalim.taskscheduler.model.ScheduledTask;
+import com.hpoalim.taskscheduler.model.Station;
+import com.hpoalim.taskscheduler.model.WorkOrder;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hpoalim.taskscheduler.server.SchedulerFixtures.operation;
+import static com.hpoalim.taskscheduler.server.SchedulerFixtures.splittableOperation;
+import static com.hpoalim.taskscheduler.server.SchedulerFixtures.workOrder;
+import static com.hpoalim.taskscheduler.server.SchedulerFixtures.workOrderType;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SchedulerTest {
+
+    private static final String ORG = "org";
+
+    private final Scheduler scheduler = new Scheduler("07:00", "16:00");
+
+    @Test
+    void respectsCapacityWhenStationNameDiffersFromOperation() {
+        scheduler.addStations(ORG, List.of(new Station("CuttingStation", "Cutting", 1)));
+        scheduler.addWorkOrderTypes(ORG, List.of(workOrderType("cut", operation("Cutting", 2))));
+
+        List<ScheduledTask> tasks = scheduler.scheduleWorkOrders(ORG, workOrders("cut", 3));
+
+        LocalDate today = firstDay(tasks);
+        assertThat(tasks).extracting(ScheduledTask::getStartTime).containsExactly(
+                at(today, 7), at(today.plusDays(1), 7), at(today.plusDays(2), 7));
+    }
+
+    @Test
+    void splitsOperationAcrossWorkDays() {
+        scheduler.addStations(ORG, List.of(new Station("Oven", "Cure", 1)));
+        scheduler.addWorkOrderTypes(ORG, List.of(workOrderType("cure", splittableOperation("Cure", 20))));
+
+        List<ScheduledTask> tasks = scheduler.scheduleWorkOrders(ORG, workOrders("cure", 1));
+
+        LocalDate today = firstDay(tasks);
+        assertThat(tasks).extracting(ScheduledTask::getStartTime, ScheduledTask::getEndTime).containsExactly(
+                tuple(at(today, 7), at(today, 16)),
+                tuple(at(today.plusDays(1), 7), at(today.plusDays(1), 16)),
+                tuple(at(today.plusDays(2), 7), at(today.plusDays(2), 9)));
+        assertThat(tasks).extracting(ScheduledTask::getSegment).containsExactly(1, 2, 3);
+        assertThat(tasks).extracting(ScheduledTask::getSegmentCount).containsOnly(3);
+    }
+
+    @Test
+    void splitOperationWaitsForFullStationToRelease() {
+        scheduler.addStations(ORG, List.of(new Station("Oven", "Cure", 1)));
+        scheduler.addWorkOrderTypes(ORG, List.of(
+                workOrderType("short", operation("Cure", 2)),
+                workOrderType("split", splittableOperation("Cure", 3))));
+        // Same due date, so the short order is scheduled first
+        List<WorkOrder> workOrders = new ArrayList<>(workOrders("short", 1));
+        workOrders.addAll(workOrders("split", 1));
+
+        List<ScheduledTask> tasks = scheduler.scheduleWorkOrders(ORG, workOrders);
+
+        LocalDate today = firstDay(tasks);
+        assertThat(tasks).hasSize(2);
+        assertThat(tasks.get(1)).satisfies(task -> {
+            assertThat(task.getStartTime()).isEqualTo(at(today, 9));
+            assertThat(task.getEndTime()).isEqualTo(at(today, 12));
+            assertThat(task.getSegmentCount()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void rejectsUnsplittableOperationLongerThanWorkDay() {
+        scheduler.addStations(ORG, List.of(new Station("Oven", "Cure", 1)));
+        scheduler.addWorkOrderTypes(ORG, List.of(
+                workOrderType("cut", operation("Cure", 1)),
+                workOrderType("long", operation("Cure", 10))));
+        List<WorkOrder> workOrders = new ArrayList<>(workOrders("cut", 1));
+        workOrders.addAll(workOrders("long", 1));
+
+        assertThatThrownBy(() -> scheduler.scheduleWorkOrders(ORG, workOrders))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("longer than the work day");
+        assertThat(scheduler.getScheduledTasks(ORG)).isEmpty();
+    }
+
+    @Test
+    void traceReportsSearchCostPerWorkOrder() {
+        scheduler.addStations(ORG, List.of(new Station("CuttingStation", "Cutting", 1), new Station("Oven", "Cure", 1)));
+        scheduler.addWorkOrderTypes(ORG, List.of(
+                workOrderType("cut", operation("Cutting", 2)),
+                workOrderType("cure", splittableOperation("Cure", 20))));
+        List<WorkOrder> workOrders = new ArrayList<>(workOrders("cut", 2));
+        workOrders.addAll(workOrders("cure", 1));
+        List<WorkOrderTraceDto> trace = new ArrayList<>();
+
+        scheduler.scheduleWorkOrders(ORG, workOrders, trace);
+
+        assertThat(trace).extracting(WorkOrderTraceDto::getWorkOrderId).containsExactlyInAnyOrder("cut0", "cut1", "cure0");
+        assertThat(trace).allSatisfy(entry -> {
+            assertThat(entry.getOperations()).isEqualTo(1);
+            assertThat(entry.getCanFitCalls()).isPositive();
+        });
+        // The second cut order finds today's only slot taken and probes tomorrow
+        assertThat(trace).filteredOn(entry -> entry.getWorkOrderId().equals("cut1"))
+                .singleElement().extracting(WorkOrderTraceDto::getDaysProbed).isEqualTo(2);
+        // Three segments on three days, each day counted once
+        assertThat(trace).filteredOn(entry -> entry.getWorkOrderId().equals("cure0"))
+                .singleElement().extracting(WorkOrderTraceDto::getDaysProbed).isEqualTo(3);
+    }
+
+    private static LocalDateTime at(LocalDate day, int hour) {
+        return day.atTime(hour, 0);
+    }
+
+    /**
+     * The scheduler starts from the current date, so expected times are relative to the first task's day.
+     */
+    private static LocalDate firstDay(List<ScheduledTask> tasks) {
+        return tasks.get(0).getStartTime().toLocalDate();
+    }
+
+    private static List<WorkOrder> workOrders(String type, int count) {
+        List<WorkOrder> workOrders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            workOrders.add(workOrder(type + i, type));
+        }
+        return workOrders;
+    }
+}
@@ -0,0 +1,104 @@
+package com.hpoalim.taskscheduler.server;
+
+import com.hpoalim.taskscheduler.config.QuotaProperties;
+import com.hpoalim.taskscheduler.config.QuotaProperties.OrgQuota;
+import com.hpoalim.taskscheduler.exception.QuotaExceededException;
+import com.hpoalim.taskscheduler.model.ScheduledTask;
+import com.hpoalim.taskscheduler.model.Station;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.hpoalim.taskscheduler.server.SchedulerFixtures.operation;
+import static com.hpoalim.taskscheduler.server.SchedulerFixtures.workOrder;
+import static com.hpoalim.taskscheduler.server.SchedulerFixtures.workOrderType;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkOrderAdmissionQueueTest {
+
+    private static final String ORG = "org";
+
+    private final Scheduler scheduler = new Scheduler("07:00", "16:00");
+    private final QuotaProperties quotas = new QuotaProperties();
+    private final OrgQuotaManager quotaManager = new OrgQuotaManager(quotas);
+    private final FairShareExecutor workers = new FairShareExecutor(quotas);
+    private WorkOrderAdmissionQueue queue;
+
+    @AfterEach
+    void shutdown() {
+        queue.shutdown();
+        workers.shutdown();
+    }
+
+    @Test
+    void invalidOrderFailsOnlyItsOwnFuture() throws Exception {
+        registerCatalog();
+        queue = new WorkOrderAdmissionQueue(scheduler, workers, quotaManager, 2, 10_000);
+
+        CompletableFuture<List<ScheduledTask>> valid = queue.submit(ORG, workOrder("valid", "cut"));
+        CompletableFuture<List<ScheduledTask>> invalid = queue.submit(ORG, workOrder("invalid", "noStation"));
+
+        assertThat(valid.get(5, TimeUnit.SECONDS)).hasSize(1);
+        assertThatThrownBy(() -> invalid.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(scheduler.getScheduledTasks(ORG))
+                .extracting(task -> task.getWorkOrder().getId())
+                .containsExactly("valid");
+    }
+
+    @Test
+    void deadlineOfSizeFlushedBatchDoesNotFlushNextBatch() throws Exception {
+        registerCatalog();
+        long maxDelayMillis = 300;
+        queue = new WorkOrderAdmissionQueue(scheduler, workers, quotaManager, 2, maxDelayMillis);
+
+        CompletableFuture<List<ScheduledTask>> first = queue.submit(ORG, workOrder("first", "cut"));
+        queue.submit(ORG, workOrder("second", "cut"));
+        first.get(5, TimeUnit.SECONDS);
+
+        // The first batch's deadline is still pending and fires before the third order's own deadline
+        long admitted = System.nanoTime();
+        CompletableFuture<List<ScheduledTask>> third = queue.submit(ORG, workOrder("third", "cut"));
+        assertThat(third.get(5, TimeUnit.SECONDS)).hasSize(1);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - admitted)).isGreaterThanOrEqualTo(maxDelayMillis);
+    }
+
+    @Test
+    void submitAfterShutdownIsRejected() {
+        registerCatalog();
+        queue = new WorkOrderAdmissionQueue(scheduler, workers, quotaManager, 2, 10_000);
+        queue.shutdown();
+
+        assertThatThrownBy(() -> queue.submit(ORG, workOrder("late", "cut")))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void batchCountsAgainstConcurrentJobsLimit() throws Exception {
+        registerCatalog();
+        quotas.setDefaults(new OrgQuota(1, 500_000, 10L * 1024 * 1024, 1));
+        queue = new WorkOrderAdmissionQueue(scheduler, workers, quotaManager, 1, 10_000);
+
+        quotaManager.acquireJob(ORG, 0);
+        CompletableFuture<List<ScheduledTask>> throttled = queue.submit(ORG, workOrder("throttled", "cut"));
+        assertThatThrownBy(() -> throttled.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(QuotaExceededException.class);
+
+        quotaManager.releaseJob(ORG);
+        assertThat(queue.submit(ORG, workOrder("admitted", "cut")).get(5, TimeUnit.SECONDS)).hasSize(1);
+    }
+
+    private void registerCatalog() {
+        scheduler.addStations(ORG, List.of(new Station("Cutting", "Cutting", 1)));
+        scheduler.addWorkOrderTypes(ORG, List.of(
+                workOrderType("cut", operation("Cutting", 2)),
+                workOrderType("noStation", operation("Welding", 1))));
+    }
+}
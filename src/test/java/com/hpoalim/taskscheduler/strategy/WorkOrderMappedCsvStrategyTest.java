@@ -0,0 +1,84 @@
+package com.hpoalim.taskscheduler.strategy;
+
+import com.hpoalim.taskscheduler.api.FileParseStrategy;
+import com.hpoalim.taskscheduler.model.WorkOrder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The mapped strategy must parse every file exactly like {@link WorkOrderCsvStrategy}, since which one
+ * is used only depends on the upload size.
+ */
+class WorkOrderMappedCsvStrategyTest {
+
+    private final WorkOrderMappedCsvStrategy mappedStrategy = new WorkOrderMappedCsvStrategy(0, 4);
+
+    @AfterEach
+    void shutdown() {
+        mappedStrategy.shutdown();
+    }
+
+    @Test
+    void parsesFixtureLikeOpenCsvStrategy() throws IOException {
+        byte[] content = new ClassPathResource("csv/work_orders_parity.csv").getContentAsByteArray();
+
+        List<WorkOrder> expected = parse(new WorkOrderCsvStrategy().getStrategy(), content);
+        List<WorkOrder> actual = parse(mappedStrategy.getStrategy(), content);
+
+        assertThat(fields(actual)).isEqualTo(fields(expected));
+        assertThat(actual).hasSize(10);
+        assertThat(actual.get(3).getDueDate()).isEqualTo(LocalDate.of(2025, 4, 30));
+        assertThat(actual.get(6).getDueDate()).isEqualTo(LocalDate.of(2025, 4, 3));
+    }
+
+    @Test
+    void parsesMultipleRangesLikeOpenCsvStrategy() throws IOException {
+        StringBuilder csv = new StringBuilder("id,type,dueDate\n");
+        for (int i = 0; csv.length() < 3 * 1024 * 1024; i++) {
+            csv.append("wo").append(i).append(",type").append(i % 7).append(',')
+                    .append(String.format("%02d/%02d/2025", i % 31 + 1, i % 12 + 1)).append('\n');
+        }
+        byte[] content = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        List<WorkOrder> expected = parse(new WorkOrderCsvStrategy().getStrategy(), content);
+        List<WorkOrder> actual = parse(mappedStrategy.getStrategy(), content);
+
+        assertThat(fields(actual)).isEqualTo(fields(expected));
+    }
+
+    @Test
+    void rejectsWhatOpenCsvStrategyRejects() {
+        for (String csv : List.of(
+                "id,type,dueDate\nwo1,type1,01/04/2025\n\nwo2,type1,02/04/2025\n",
+                "id,type,dueDate\nwo1,type1,31/13/2025\n",
+                "id,type,dueDate\nwo1,type1,1/4/2025\n",
+                "id,type,dueDate\nwo1,type1\n")) {
+            byte[] content = csv.getBytes(StandardCharsets.UTF_8);
+            assertThatThrownBy(() -> parse(new WorkOrderCsvStrategy().getStrategy(), content)).as(csv)
+                    .isInstanceOf(RuntimeException.class);
+            assertThatThrownBy(() -> parse(mappedStrategy.getStrategy(), content)).as(csv)
+                    .isInstanceOf(RuntimeException.class);
+        }
+    }
+
+    private static List<String> fields(List<WorkOrder> workOrders) {
+        return workOrders.stream().map(w -> w.getId() + "|" + w.getType() + "|" + w.getDueDate()).toList();
+    }
+
+    private static List<WorkOrder> parse(FileParseStrategy<WorkOrder> strategy, byte[] content) throws IOException {
+        List<WorkOrder> workOrders = new ArrayList<>();
+        strategy.parse(new MockMultipartFile("file", "work_orders.csv", "text/csv", content), workOrders::add);
+        return workOrders;
+    }
+}